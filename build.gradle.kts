@@ -31,6 +31,10 @@ dependencies {
     compileOnly("org.projectlombok:lombok:1.18.36")
     compileOnly(fileTree(mapOf("dir" to "libs", "include" to listOf("*.jar"))))
     annotationProcessor("org.projectlombok:lombok:1.18.36")
+
+    testImplementation("io.papermc.paper:paper-api:1.21.8-R0.1-SNAPSHOT")
+    testImplementation("org.junit.jupiter:junit-jupiter:5.11.4")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
 
 // Configure run-paper task
@@ -39,6 +43,10 @@ tasks {
     runServer {
         minecraftVersion("1.21.8")
     }
+
+    test {
+        useJUnitPlatform()
+    }
 }
 
 java {
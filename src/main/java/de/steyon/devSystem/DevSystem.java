@@ -1,13 +1,22 @@
 package de.steyon.devSystem;
 
 import de.steyon.devSystem.api.inv.controller.InventoryManager;
+import de.steyon.devSystem.api.item.SkullCache;
 import de.steyon.devSystem.config.Config;
+import de.steyon.devSystem.config.ConfigWatcher;
 import de.steyon.devSystem.pluginmanager.PluginManagerCommand;
 import de.steyon.devSystem.pluginmanager.PluginManagerService;
+import de.steyon.devSystem.profiler.CpuSampler;
+import de.steyon.devSystem.profiler.ListenerProfiler;
+import de.steyon.devSystem.profiler.TickMonitor;
+import de.steyon.devSystem.stacktrace.ErrorAggregator;
+import de.steyon.devSystem.stacktrace.SpikeStore;
+import de.steyon.devSystem.stacktrace.SpikeWatchdog;
 import lombok.Getter;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
@@ -23,6 +32,20 @@ public final class DevSystem extends JavaPlugin {
     private MiniMessage miniMessage;
     @Getter
     private PluginManagerService pluginManagerService;
+    @Getter
+    private SkullCache skullCache;
+    @Getter
+    private ListenerProfiler listenerProfiler;
+    @Getter
+    private CpuSampler cpuSampler;
+    @Getter
+    private TickMonitor tickMonitor;
+    @Getter
+    private SpikeStore spikeStore;
+    private SpikeWatchdog spikeWatchdog;
+    @Getter
+    private ErrorAggregator errorAggregator;
+    private ConfigWatcher configWatcher;
 
     @Override
     public void onEnable() {
@@ -30,14 +53,37 @@ public final class DevSystem extends JavaPlugin {
         
         getServer().getConsoleSender().sendMessage(this.configManager.getPluginMessage("starting"));
         getServer().getConsoleSender().sendMessage(this.configManager.getPluginMessage("config-loaded"));
+
+        if (this.configManager.get(ErrorAggregator.ENABLED)) {
+            this.errorAggregator = new ErrorAggregator(this);
+            this.errorAggregator.install();
+        }
         
         this.inventoryManager = new InventoryManager(this, new HashMap<>());
         this.miniMessage = MiniMessage.builder().postProcessor(postProcessor -> postProcessor.decoration(TextDecoration.ITALIC, false)).build();
+        this.skullCache = new SkullCache(this);
         
+        this.tickMonitor = new TickMonitor();
+        getServer().getPluginManager().registerEvents(this.tickMonitor, this);
+        getServer().getServicesManager().register(TickMonitor.class, this.tickMonitor, this, ServicePriority.Normal);
+
         this.pluginManagerService = new PluginManagerService(this);
+        this.listenerProfiler = new ListenerProfiler(this);
+        this.cpuSampler = new CpuSampler(this);
 
         registerCommands();
         checkForUpdates();
+
+        this.spikeStore = new SpikeStore(this, this.configManager.get(SpikeWatchdog.MAX_RECORDS));
+        if (this.configManager.get(SpikeWatchdog.ENABLED)) {
+            this.spikeWatchdog = new SpikeWatchdog(this, this.tickMonitor, this.spikeStore);
+            this.spikeWatchdog.start();
+        }
+
+        if (this.configManager.get(ConfigWatcher.ENABLED)) {
+            this.configWatcher = new ConfigWatcher(this, this.configManager);
+            this.configWatcher.start();
+        }
         
         getServer().getConsoleSender().sendMessage(this.configManager.getPluginMessage("enabled"));
     }
@@ -55,7 +101,26 @@ public final class DevSystem extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        if (this.spikeWatchdog != null) {
+            this.spikeWatchdog.stop();
+        }
+        if (this.listenerProfiler != null) {
+            this.listenerProfiler.shutdown();
+        }
+        if (this.cpuSampler != null) {
+            this.cpuSampler.shutdown();
+        }
+        if (this.configWatcher != null) {
+            this.configWatcher.stop();
+        }
+        if (this.skullCache != null) {
+            this.skullCache.clear();
+        }
+        if (this.errorAggregator != null) {
+            this.errorAggregator.uninstall();
+        }
         if (this.configManager != null) {
+            this.configManager.shutdown();
             getServer().getConsoleSender().sendMessage(this.configManager.getPluginMessage("disabled"));
         }
     }
@@ -0,0 +1,110 @@
+package de.steyon.devSystem.api.inv;
+
+import de.steyon.devSystem.api.inv.item.ActiveItem;
+import lombok.Getter;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A pattern compiled once into per-character slot arrays together with its static items.
+ * <p>
+ * Templates are immutable and can be shared by every viewer; {@link #create(Plugin, Component, Player)}
+ * stamps out a {@link SteyOnInv} with a single {@code setContents} call. Handlers of static items are
+ * shared between all instances, so they must not capture a specific player.
+ */
+public final class GuiTemplate {
+
+    @Getter
+    private final int size;
+    private final String[] pattern;
+    private final Map<Character, int[]> patternSlots;
+    private final ActiveItem[] slots;
+    private final ItemStack[] contents;
+
+    private GuiTemplate(int size, String[] pattern, Map<Character, int[]> patternSlots, ActiveItem[] slots, ItemStack[] contents) {
+        this.size = size;
+        this.pattern = pattern;
+        this.patternSlots = patternSlots;
+        this.slots = slots;
+        this.contents = contents;
+    }
+
+    /**
+     * @param pattern rows of up to 9 characters, one row per inventory row
+     * @param staticItems items placed on every slot of their character
+     * @return the compiled template
+     */
+    public static GuiTemplate compile(String[] pattern, Map<Character, ActiveItem> staticItems) {
+        int size = pattern.length * 9;
+        Map<Character, int[]> patternSlots = new HashMap<>();
+        Map<Character, Integer> counts = new HashMap<>();
+
+        for (int row = 0; row < pattern.length; row++) {
+            String line = pattern[row];
+            for (int i = 0; i < line.length() && i < 9; i++) {
+                counts.merge(line.charAt(i), 1, Integer::sum);
+            }
+        }
+        for (Map.Entry<Character, Integer> entry : counts.entrySet()) {
+            patternSlots.put(entry.getKey(), new int[entry.getValue()]);
+        }
+
+        Map<Character, Integer> filled = new HashMap<>();
+        ActiveItem[] slots = new ActiveItem[size];
+        ItemStack[] contents = new ItemStack[size];
+        Map<Character, ActiveItem> frozen = new HashMap<>();
+        for (Map.Entry<Character, ActiveItem> entry : staticItems.entrySet()) {
+            ActiveItem source = entry.getValue();
+            frozen.put(entry.getKey(), new ActiveItem(source.getItemStack().clone()).click(source.getAction()));
+        }
+
+        for (int row = 0; row < pattern.length; row++) {
+            String line = pattern[row];
+            for (int i = 0; i < line.length() && i < 9; i++) {
+                char c = line.charAt(i);
+                int slot = row * 9 + i;
+                int index = filled.merge(c, 1, Integer::sum) - 1;
+                patternSlots.get(c)[index] = slot;
+
+                ActiveItem item = frozen.get(c);
+                if (item != null) {
+                    slots[slot] = item;
+                    contents[slot] = item.getItemStack();
+                }
+            }
+        }
+
+        return new GuiTemplate(size, pattern.clone(), Map.copyOf(patternSlots), slots, contents);
+    }
+
+    /**
+     * @param plugin the plugin owning the inventory
+     * @param title the title of this instance
+     * @param player the player the inventory is created for
+     * @return a new inventory pre-filled with the static items of this template
+     */
+    public SteyOnInv create(Plugin plugin, Component title, Player player) {
+        return new SteyOnInv(plugin, title, player, this);
+    }
+
+    String[] getPattern() {
+        return pattern.clone();
+    }
+
+    Map<Character, int[]> getPatternSlots() {
+        return patternSlots;
+    }
+
+    void copySlotsInto(ActiveItem[] target) {
+        System.arraycopy(slots, 0, target, 0, Math.min(slots.length, target.length));
+    }
+
+    ItemStack[] getContents() {
+        return contents;
+    }
+}
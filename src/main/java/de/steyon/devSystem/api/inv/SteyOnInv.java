@@ -9,21 +9,25 @@ import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
-public class SteyOnInv {
+public class SteyOnInv implements InventoryHolder {
 
     @Getter
     private final Inventory inventory;
-    @Getter
-    private final ArrayList<ActiveItem> activeItems;
+    private final ActiveItem[] slots;
+    private final Map<Character, int[]> patternSlots = new HashMap<>();
     private final Plugin mainClass;
+    @Getter
     private final Player player;
     private final int size;
     @Getter
@@ -41,18 +45,52 @@ public class SteyOnInv {
         this.title = title;
         this.player = player;
         this.pattern = pattern;
-        this.activeItems = new ArrayList<>();
-        this.inventory = this.mainClass.getServer().createInventory(player, size, title);
+        this.slots = new ActiveItem[size];
+        this.inventory = this.mainClass.getServer().createInventory(this, size, title);
         if (listener == null) {
-            listener = new InventoryEventListener();
+            listener = new InventoryEventListener(mainClass);
             this.mainClass.getServer().getPluginManager().registerEvents(listener, mainClass);
         }
         listener.registerInventory(this);
     }
 
+    /**
+     * @param mainClass
+     * @param title
+     * @param player
+     * @param template
+     * @apiNote Creates an inventory from a precompiled template, the static items are written with one setContents call
+     */
+    public SteyOnInv(Plugin mainClass, Component title, Player player, GuiTemplate template) {
+        this(mainClass, template.getSize(), title, player, template.getPattern());
+        this.patternSlots.putAll(template.getPatternSlots());
+        template.copySlotsInto(this.slots);
+        this.inventory.setContents(template.getContents());
+    }
+
+    /**
+     * @return the shared event listener, or null if no inventory has been created yet
+     * @apiNote Exposes the live GUI count and click dispatch metrics
+     */
+    public static InventoryEventListener getListener() {
+        return listener;
+    }
+
+    /**
+     * @param disabled the listener whose owning plugin is being disabled
+     * @apiNote Called by the listener itself so the next inventory registers a fresh one
+     */
+    public static void resetListener(InventoryEventListener disabled) {
+        if (listener == disabled) {
+            listener = null;
+        }
+    }
+
     public SteyOnInv addItem(ActiveItem activeItem) {
-        inventory.addItem(activeItem.getItemStack());
-        activeItems.add(activeItem);
+        int slot = inventory.firstEmpty();
+        if (slot != -1) {
+            setItem(slot, activeItem);
+        }
         return this;
     }
 
@@ -67,7 +105,9 @@ public class SteyOnInv {
     }
 
     public void removeItem(int slot) {
-        activeItems.removeIf(item -> item.getItemStack().equals(inventory.getItem(slot)));
+        if (slot >= 0 && slot < slots.length) {
+            slots[slot] = null;
+        }
     }
 
     public void open(Player player) {
@@ -76,16 +116,33 @@ public class SteyOnInv {
 
     public void setItem(int slot, ActiveItem activeItem) {
         inventory.setItem(slot, activeItem.getItemStack());
-        activeItems.add(activeItem);
+        slots[slot] = activeItem;
+    }
+
+    /**
+     * @param slot the raw slot of this inventory
+     * @return the item whose handler is bound to the slot, or null
+     */
+    public ActiveItem getActiveItem(int slot) {
+        return slot >= 0 && slot < slots.length ? slots[slot] : null;
+    }
+
+    /**
+     * @return the items currently bound to a slot, in slot order
+     */
+    public List<ActiveItem> getActiveItems() {
+        List<ActiveItem> items = new ArrayList<>();
+        for (ActiveItem item : slots) {
+            if (item != null) items.add(item);
+        }
+        return items;
     }
 
 
     public void handleClick(InventoryClickEvent event) {
-        for (ActiveItem activeItem : activeItems) {
-            if (event.getCurrentItem() != null && event.getCurrentItem().isSimilar(activeItem.getItemStack()) && activeItem.getAction() != null) {
-                activeItem.getAction().accept(event);
-                break;
-            }
+        ActiveItem activeItem = getActiveItem(event.getRawSlot());
+        if (activeItem != null && activeItem.getAction() != null) {
+            activeItem.getAction().accept(event);
         }
     }
 
@@ -95,33 +152,41 @@ public class SteyOnInv {
         }
     }
 
-    public void setUnActiveItems(HashMap<Character, ActiveItem> activeItems) {
-
-        int startIndex = 0;
-
-        for (String row : pattern) {
-
-            if (startIndex >= size) {
-                break;
+    public void setUnActiveItems(Map<Character, ActiveItem> activeItems) {
+        for (Map.Entry<Character, ActiveItem> entry : activeItems.entrySet()) {
+            for (int slot : getPatternSlots(entry.getKey())) {
+                setItem(slot, entry.getValue());
             }
+        }
+    }
 
-            for (int i = 0; i < row.length(); i++) {
-                char c = row.charAt(i);
-                if (activeItems.containsKey(c)) {
-                    setItem(startIndex + i, activeItems.get(c));
-                }
+    /**
+     * @param activeItems
+     * @apiNote This method is used to set the active items in the inventory.
+     * The items of each character fill its pattern slots in order, slots without an item are cleared.
+     * Only slots whose item changed since the last call are written, so a page flip costs O(slots).
+     */
+    public void setActiveItems(Map<Character, List<ActiveItem>> activeItems) {
+        for (Map.Entry<Character, List<ActiveItem>> entry : activeItems.entrySet()) {
+            int[] targets = getPatternSlots(entry.getKey());
+            List<ActiveItem> items = entry.getValue();
+            for (int i = 0; i < targets.length; i++) {
+                renderSlot(targets[i], i < items.size() ? items.get(i) : null);
             }
-
-            startIndex += 9;
         }
-
     }
 
     /**
-     * @param activeItems
-     * @apiNote This method is used to set the active items in the inventory
+     * @param c the pattern character
+     * @return the slots the character occupies in the pattern, in reading order
      */
-    public void setActiveItems(HashMap<Character, List<ActiveItem>> activeItems) {
+    public int[] getPatternSlots(char c) {
+        return patternSlots.computeIfAbsent(c, this::compilePatternSlots);
+    }
+
+    private int[] compilePatternSlots(char c) {
+        int[] buffer = new int[size];
+        int count = 0;
         int startIndex = 0;
 
         for (String row : pattern) {
@@ -130,21 +195,26 @@ public class SteyOnInv {
                 break;
             }
 
-            for (int i = 0; i < row.length(); i++) {
-                char c = row.charAt(i);
-                if (activeItems.containsKey(c)) {
-                    List<ActiveItem> items = activeItems.get(c);
-                    for (ActiveItem item : items) {
-                        if (inventory.contains(item.getItemStack())) continue;
-                        for (ItemStack itemStack : inventory.getContents()){
-                            if (itemStack != null) continue;
-                            setItem(startIndex + i, item);
-                        }
-                    }
+            for (int i = 0; i < row.length() && startIndex + i < size; i++) {
+                if (row.charAt(i) == c) {
+                    buffer[count++] = startIndex + i;
                 }
             }
 
             startIndex += 9;
         }
+
+        return Arrays.copyOf(buffer, count);
+    }
+
+    private void renderSlot(int slot, ActiveItem activeItem) {
+        ActiveItem previous = slots[slot];
+        if (previous == activeItem) return;
+
+        slots[slot] = activeItem;
+        ItemStack itemStack = activeItem != null ? activeItem.getItemStack() : null;
+        if (previous == null || activeItem == null || previous.getItemStack() != itemStack) {
+            inventory.setItem(slot, itemStack);
+        }
     }
-}
\ No newline at end of file
+}
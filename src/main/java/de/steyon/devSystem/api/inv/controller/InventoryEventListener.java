@@ -1,57 +1,147 @@
 package de.steyon.devSystem.api.inv.controller;
 
 import de.steyon.devSystem.api.inv.SteyOnInv;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryOpenEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Routes inventory events to their {@link SteyOnInv}.
+ * <p>
+ * Lookups go through the inventory holder, so dispatch is O(1) regardless of how many
+ * GUIs are open. The registry only tracks live GUIs for lifecycle handling and metrics;
+ * entries are dropped when the last viewer closes, when the owning player quits and
+ * when the owning plugin is disabled.
+ */
 public class InventoryEventListener implements Listener {
 
-    private final List<SteyOnInv> registeredInventories = new ArrayList<>();
+    private final Plugin owner;
+    private final Set<SteyOnInv> liveInventories = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder registeredTotal = new LongAdder();
+    private final LongAdder dispatchCount = new LongAdder();
+    private final LongAdder dispatchNanos = new LongAdder();
+    private final LongAccumulator maxDispatchNanos = new LongAccumulator(Math::max, 0L);
+
+    public InventoryEventListener(Plugin owner) {
+        this.owner = owner;
+    }
 
     public void registerInventory(SteyOnInv inventory) {
-        registeredInventories.add(inventory);
+        if (liveInventories.add(inventory)) {
+            registeredTotal.increment();
+        }
+    }
+
+    public void unregisterInventory(SteyOnInv inventory) {
+        liveInventories.remove(inventory);
+    }
+
+    /**
+     * @param inventory the inventory of an event, may be null
+     * @return the owning {@link SteyOnInv} or null if the inventory is not managed by this API
+     */
+    public static SteyOnInv resolve(Inventory inventory) {
+        if (inventory == null) return null;
+        return inventory.getHolder(false) instanceof SteyOnInv steyOnInv ? steyOnInv : null;
     }
 
     @EventHandler
     public void onInventoryClick(InventoryClickEvent event) {
-        for (SteyOnInv inventory : registeredInventories) {
-            if (event.getClickedInventory() != null && event.getClickedInventory().equals(inventory.getInventory())) {
-                inventory.handleClick(event);
-                break;
-            }
-        }
+        SteyOnInv inventory = resolve(event.getClickedInventory());
+        if (inventory == null) return;
+
+        long start = System.nanoTime();
+        inventory.handleClick(event);
+        long elapsed = System.nanoTime() - start;
+
+        dispatchCount.increment();
+        dispatchNanos.add(elapsed);
+        maxDispatchNanos.accumulate(elapsed);
     }
 
     @EventHandler
     public void onInventoryOpen(InventoryOpenEvent event) {
+        SteyOnInv inventory = resolve(event.getInventory());
+        if (inventory == null) return;
 
-        for (SteyOnInv inventory : registeredInventories) {
-            if (event.getInventory().equals(inventory.getInventory())) {
-                if (inventory.openAction != null) {
-                    inventory.openAction.accept(event);
-                    break;
-                }
-            }
+        registerInventory(inventory);
+        if (inventory.openAction != null) {
+            inventory.openAction.accept(event);
         }
     }
 
     @EventHandler
     public void onInventoryClose(InventoryCloseEvent event) {
+        SteyOnInv inventory = resolve(event.getInventory());
+        if (inventory == null) return;
+
+        inventory.handleClose(event);
+
+        // The closing player is still listed as a viewer while the event runs
+        if (event.getViewers().size() <= 1) {
+            unregisterInventory(inventory);
+        }
+    }
 
-        for (SteyOnInv inventory : registeredInventories) {
-            if (event.getInventory().equals(inventory.getInventory())) {
-                if (inventory.closeAction != null) {
-                    inventory.closeAction.accept(event);
-                    break;
-                }
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        Player player = event.getPlayer();
+        liveInventories.removeIf(inventory -> inventory.getPlayer() != null
+            && inventory.getPlayer().getUniqueId().equals(player.getUniqueId()));
+    }
+
+    @EventHandler
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() != owner) return;
+        closeAll();
+        SteyOnInv.resetListener(this);
+    }
+
+    /**
+     * Closes every live GUI for all of its viewers and empties the registry.
+     */
+    public void closeAll() {
+        for (SteyOnInv inventory : new ArrayList<>(liveInventories)) {
+            for (HumanEntity viewer : new ArrayList<>(inventory.getInventory().getViewers())) {
+                viewer.closeInventory();
             }
         }
+        liveInventories.clear();
+    }
+
+    public int getLiveInventoryCount() {
+        return liveInventories.size();
+    }
+
+    public long getRegisteredTotal() {
+        return registeredTotal.sum();
+    }
+
+    public long getDispatchCount() {
+        return dispatchCount.sum();
+    }
+
+    public long getAverageDispatchNanos() {
+        long count = dispatchCount.sum();
+        return count == 0 ? 0L : dispatchNanos.sum() / count;
+    }
+
+    public long getMaxDispatchNanos() {
+        return maxDispatchNanos.get();
     }
 }
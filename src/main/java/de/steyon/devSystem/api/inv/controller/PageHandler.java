@@ -4,16 +4,27 @@ package de.steyon.devSystem.api.inv.controller;
 import de.steyon.devSystem.api.inv.SteyOnInv;
 import de.steyon.devSystem.api.inv.item.ActiveItem;
 
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
 
 public class PageHandler {
 
+    private static final int CACHED_PAGES = 3;
+
     private final char attach;
     private final SteyOnInv SteyOnInv;
     private final int itemsPerPage;
-    private final List<ActiveItem> activeItems;
+    private final int size;
+    private final IntFunction<ActiveItem> itemProvider;
+    private final Map<Integer, List<ActiveItem>> pageCache = new LinkedHashMap<>(CACHED_PAGES + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<ActiveItem>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
     private int page;
     private int endIndex;
     private int startIndex;
@@ -26,14 +37,7 @@ public class PageHandler {
      * @apiNote This constructor is used to set the start page of the inventory to 1
      */
     public PageHandler(SteyOnInv SteyOnInv, int itemsPerPage, List<ActiveItem> activeItems, char attach) {
-        this.SteyOnInv = SteyOnInv;
-        this.itemsPerPage = itemsPerPage;
-        this.page = 1;
-        this.startIndex = 0;
-        this.activeItems = activeItems;
-        this.attach = attach;
-        this.endIndex = calculateEndIndex();
-        inject();
+        this(SteyOnInv, itemsPerPage, activeItems, attach, 1);
     }
 
     /**
@@ -45,31 +49,57 @@ public class PageHandler {
      * @apiNote This constructor is used to set the start page of the inventory
      */
     public PageHandler(SteyOnInv SteyOnInv, int itemsPerPage, List<ActiveItem> activeItems, char attach, int startPage) {
+        this(SteyOnInv, itemsPerPage, activeItems != null ? activeItems.size() : 0, listProvider(activeItems), attach, startPage);
+    }
+
+    /**
+     * @param SteyOnInv
+     * @param itemsPerPage
+     * @param size the total number of items
+     * @param itemProvider builds the item at an index, only called for the visible page
+     * @param attach
+     * @apiNote This constructor is used to page lazily built items, starting at page 1
+     */
+    public PageHandler(SteyOnInv SteyOnInv, int itemsPerPage, int size, IntFunction<ActiveItem> itemProvider, char attach) {
+        this(SteyOnInv, itemsPerPage, size, itemProvider, attach, 1);
+    }
+
+    /**
+     * @param SteyOnInv
+     * @param itemsPerPage
+     * @param size the total number of items
+     * @param itemProvider builds the item at an index, only called for the visible page
+     * @param attach
+     * @param startPage
+     * @apiNote This constructor is used to page lazily built items, starting at the given page.
+     * The last few built pages are kept, so flipping back and forth does not rebuild them.
+     */
+    public PageHandler(SteyOnInv SteyOnInv, int itemsPerPage, int size, IntFunction<ActiveItem> itemProvider, char attach, int startPage) {
         this.SteyOnInv = SteyOnInv;
         this.itemsPerPage = itemsPerPage;
+        this.size = Math.max(size, 0);
+        this.itemProvider = itemProvider;
+        this.attach = attach;
         this.page = Math.max(startPage, 1);
-        if (startPage == 1) this.startIndex = 0;
-        else this.startIndex = (startPage - 1) * itemsPerPage;
-        this.activeItems = activeItems;
+        this.startIndex = (this.page - 1) * itemsPerPage;
         this.endIndex = calculateEndIndex();
-        this.attach = attach;
         inject();
     }
 
+    private static IntFunction<ActiveItem> listProvider(List<ActiveItem> activeItems) {
+        return activeItems != null ? activeItems::get : index -> null;
+    }
+
     private void inject() {
-        List<ActiveItem> items = getItems();
-        HashMap<Character, List<ActiveItem>> itemMap = new HashMap<>();
-        itemMap.put(attach, items);
-        SteyOnInv.setActiveItems(itemMap);
+        SteyOnInv.setActiveItems(Map.of(attach, getItems()));
     }
 
 
     public List<ActiveItem> getItems() {
-        if (activeItems == null || activeItems.isEmpty()) {
+        if (size == 0) {
             return List.of();
         }
 
-        int size = activeItems.size();
         if (startIndex >= size) {
             page = Math.max(1, (int) Math.ceil((double) size / itemsPerPage));
             startIndex = Math.max(0, (page - 1) * itemsPerPage);
@@ -80,11 +110,20 @@ public class PageHandler {
         if (startIndex >= safeEnd) {
             return List.of();
         }
-        return activeItems.subList(startIndex, safeEnd);
+        return pageCache.computeIfAbsent(page, ignored -> buildPage(startIndex, safeEnd));
+    }
+
+    private List<ActiveItem> buildPage(int from, int to) {
+        List<ActiveItem> items = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ActiveItem item = itemProvider.apply(i);
+            if (item != null) items.add(item);
+        }
+        return items;
     }
 
     public void nextPage() {
-        if (page * itemsPerPage < activeItems.size()) {
+        if (page * itemsPerPage < size) {
             page++;
             startIndex = (page - 1) * itemsPerPage;
 
@@ -102,7 +141,7 @@ public class PageHandler {
     }
 
     public boolean hasNextPage() {
-        return page * itemsPerPage < activeItems.size();
+        return page * itemsPerPage < size;
     }
 
     public boolean hasPreviousPage() {
@@ -110,10 +149,9 @@ public class PageHandler {
     }
 
     public int calculateEndIndex() {
-        if (activeItems == null || activeItems.isEmpty()) {
+        if (size == 0) {
             return 0;
         }
-        int size = activeItems.size();
         if (startIndex >= size) {
             page = Math.max(1, (int) Math.ceil((double) size / itemsPerPage));
             startIndex = Math.max(0, (page - 1) * itemsPerPage);
@@ -126,5 +164,13 @@ public class PageHandler {
         inject();
     }
 
+    /**
+     * @apiNote Drops the built pages and re-renders the current one, e.g. after the underlying data changed
+     */
+    public void invalidate() {
+        pageCache.clear();
+        updateIndexes();
+    }
+
 
 }
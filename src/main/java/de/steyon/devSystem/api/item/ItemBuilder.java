@@ -2,12 +2,13 @@ package de.steyon.devSystem.api.item;
 
 import de.steyon.devSystem.DevSystem;
 import com.destroystokyo.paper.profile.PlayerProfile;
-import com.destroystokyo.paper.profile.ProfileProperty;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.*;
 import org.bukkit.enchantments.Enchantment;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.FireworkEffectMeta;
@@ -16,20 +17,26 @@ import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.inventory.meta.SkullMeta;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.potion.PotionType;
-import org.bukkit.profile.PlayerTextures;
 import org.jetbrains.annotations.NotNull;
 
-import java.net.MalformedURLException;
-import java.net.URI;
-import java.net.URISyntaxException;
-import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+/**
+ * Fluent item builder.
+ * <p>
+ * By default every call writes the item meta right away. In {@link #deferred() deferred mode}
+ * changes are collected in a plain struct and written with a single {@code editMeta} call in
+ * {@link #build()}, so a chain of name, lore, flags and model data only clones the item meta once.
+ */
 public class ItemBuilder {
 
     private final ItemStack itemStack;
+    private final PendingMeta pending = new PendingMeta();
+    private boolean deferred;
+    private OwnerPatch ownerPatch;
 
     public ItemBuilder(ItemStack itemStack) {
         this.itemStack = itemStack;
@@ -44,23 +51,55 @@ public class ItemBuilder {
         return this;
     }
 
-    public ItemBuilder name(Component name) {
-        Component nonItalic = name.decoration(TextDecoration.ITALIC, false);
-        this.itemStack.editMeta(itemMeta -> itemMeta.displayName(nonItalic));
+    /**
+     * Collects all following meta changes until {@link #build()} and writes them at once.
+     * The wrapped stack does not show these changes before {@code build()} is called.
+     */
+    public ItemBuilder deferred() {
+        this.deferred = true;
         return this;
     }
 
+    public ItemBuilder name(Component name) {
+        pending.name = name.decoration(TextDecoration.ITALIC, false);
+        return changed();
+    }
+
     public ItemBuilder setCustomModelData(int customModelData) {
-        ItemMeta itemMeta = this.itemStack.getItemMeta();
-        itemMeta.setCustomModelData(customModelData);
-        this.itemStack.setItemMeta(itemMeta);
-        return this;
+        pending.customModelData = customModelData;
+        return changed();
     }
 
+    /**
+     * @return the item with all pending meta changes applied in one meta write
+     */
     public ItemStack build() {
+        flush();
+        if (ownerPatch != null) {
+            ownerPatch.start(this.itemStack.clone());
+            ownerPatch = null;
+        }
         return this.itemStack;
     }
 
+    private ItemBuilder changed() {
+        if (!deferred) flush();
+        return this;
+    }
+
+    private void flush() {
+        if (pending.isEmpty()) return;
+        this.itemStack.editMeta(pending::applyTo);
+        pending.clear();
+    }
+
+    /**
+     * @return an immutable snapshot of the built item that hands out clones
+     */
+    public ItemTemplate toTemplate() {
+        return new ItemTemplate(build());
+    }
+
     public ItemBuilder lore(String... lore) {
         List<Component> componentLore = new ArrayList<>();
         for (String s : lore) {
@@ -72,104 +111,155 @@ public class ItemBuilder {
     }
 
     public ItemBuilder lore(Component... lore) {
-        List<Component> nonItalicLore = new ArrayList<>();
+        List<Component> nonItalicLore = new ArrayList<>(lore.length);
         for (Component c : lore) {
             nonItalicLore.add(c.decoration(TextDecoration.ITALIC, false));
         }
-        this.itemStack.editMeta(itemMeta -> itemMeta.lore(nonItalicLore));
-        return this;
+        pending.lore = nonItalicLore;
+        return changed();
     }
 
     public ItemBuilder lore(List<Component> components){
-        List<Component> nonItalicLore = new ArrayList<>();
+        List<Component> nonItalicLore = new ArrayList<>(components.size());
         for (Component c : components) {
             nonItalicLore.add(c.decoration(TextDecoration.ITALIC, false));
         }
-        this.itemStack.editMeta(itemMeta -> itemMeta.lore(nonItalicLore));
-        return this;
+        pending.lore = nonItalicLore;
+        return changed();
     }
 
 
+    /**
+     * @apiNote The profile is shared per texture and uses a UUID derived from the texture hash
+     */
+    public ItemBuilder setSkullTexture(String texture) {
+        pending.edits.add(skullProfile(SkullCache.textureProfile(texture)));
+        return changed();
+    }
+
+    /**
+     * @deprecated the plugin is not needed anymore, use {@link #setSkullTexture(String)}
+     */
+    @Deprecated
     public ItemBuilder setSkullTexture(String texture, Plugin plugin) {
-        ItemMeta itemMeta = this.itemStack.getItemMeta();
-        SkullMeta skullMeta = (SkullMeta) itemMeta;
-        PlayerProfile profile = plugin.getServer().createProfile(UUID.randomUUID());
-        PlayerTextures textures = profile.getTextures();
-        try {
-            textures.setSkin(new URI(texture).toURL());
-        } catch (MalformedURLException | URISyntaxException e) {
-            throw new RuntimeException(e);
-        }
-        profile.setTextures(textures);
-        skullMeta.setPlayerProfile(profile);
-        this.itemStack.setItemMeta(skullMeta);
-        return this;
+        return setSkullTexture(texture);
     }
 
-    public List<ItemBuilder> setSkullTexture(String texture, DevSystem devSystem, int amount) {
-        List<ItemBuilder> itemBuilders = new ArrayList<>();
+    /**
+     * @return {@code amount} builders, each working on its own copy of this item with the texture applied;
+     * this builder is left unchanged
+     */
+    public List<ItemBuilder> setSkullTexture(String texture, int amount) {
+        Consumer<ItemMeta> skull = skullProfile(SkullCache.textureProfile(texture));
+        ItemStack base = this.itemStack.clone();
+        base.editMeta(itemMeta -> {
+            pending.applyTo(itemMeta);
+            skull.accept(itemMeta);
+        });
+
+        List<ItemBuilder> itemBuilders = new ArrayList<>(amount);
         for (int i = 0; i < amount; i++) {
-            ItemStack clone = this.itemStack.clone();
-            ItemMeta itemMeta = clone.getItemMeta();
-            SkullMeta skullMeta = (SkullMeta) itemMeta;
-            com.destroystokyo.paper.profile.PlayerProfile profile = devSystem.getServer().createProfile(UUID.randomUUID());
-            PlayerTextures textures = profile.getTextures();
-            try {
-                textures.setSkin(new URL(texture));
-            } catch (MalformedURLException e) {
-                throw new RuntimeException(e);
-            }
-            profile.setTextures(textures);
-            skullMeta.setPlayerProfile(profile);
-            clone.setItemMeta(skullMeta);
-            itemBuilders.add(new ItemBuilder(clone));
+            itemBuilders.add(new ItemBuilder(base.clone()));
         }
         return itemBuilders;
     }
 
+    /**
+     * @deprecated the plugin is not needed anymore, use {@link #setSkullTexture(String, int)}
+     */
+    @Deprecated
+    public List<ItemBuilder> setSkullTexture(String texture, DevSystem devSystem, int amount) {
+        return setSkullTexture(texture, amount);
+    }
+
     public ItemBuilder setCustomSkullWithValue(String data) throws IllegalArgumentException {
-        if (!this.itemStack.getType().equals(Material.PLAYER_HEAD) || !(this.itemStack.getItemMeta() instanceof SkullMeta headMeta)) {
+        if (!this.itemStack.getType().equals(Material.PLAYER_HEAD) || !(this.itemStack.getItemMeta() instanceof SkullMeta)) {
             throw new IllegalArgumentException("Head needs PlayerHead as Material");
         }
 
+        pending.edits.add(skullProfile(SkullCache.valueProfile(data)));
+        return changed();
+    }
+
+    private static Consumer<ItemMeta> skullProfile(PlayerProfile profile) {
+        return itemMeta -> {
+            if (itemMeta instanceof SkullMeta skullMeta) skullMeta.setPlayerProfile(profile);
+        };
+    }
 
-        com.destroystokyo.paper.profile.PlayerProfile profile = Bukkit.getServer().createProfile(UUID.randomUUID());
-        profile.setProperty(new ProfileProperty("textures", data));
+    public ItemBuilder setFireWorkColor(Color color) {
+        pending.customModelData = 100;
+        FireworkEffect effect = FireworkEffect.builder().withColor(color).build();
+        pending.edits.add(itemMeta -> ((FireworkEffectMeta) itemMeta).setEffect(effect));
+        return changed();
+    }
+
+    /**
+     * @apiNote Never blocks on a profile lookup. If the owner has not been resolved yet the head stays
+     * a placeholder and the lookup is started; use one of the overloads to get the finished head.
+     */
+    public ItemBuilder setSkullOwner(String name, DevSystem devSystem) {
+        SkullCache skullCache = devSystem.getSkullCache();
+        PlayerProfile profile = skullCache.getCachedOwner(name);
+        if (profile != null) {
+            pending.edits.add(skullProfile(profile));
+        } else {
+            skullCache.resolveOwner(name);
+        }
+        return changed();
+    }
 
-        headMeta.setPlayerProfile(profile);
+    /**
+     * Like {@link #setSkullOwner(String, DevSystem)}, and if the head is built as a placeholder,
+     * passes a copy of it with the owner's profile to {@code onResolved} once the lookup completes.
+     * The callback runs on the thread completing the lookup, usually an async thread.
+     */
+    public ItemBuilder setSkullOwner(String name, DevSystem devSystem, Consumer<ItemStack> onResolved) {
+        return setSkullOwner(name, devSystem, (placeholder, head) -> onResolved.accept(head));
+    }
 
-        this.itemStack.setItemMeta(headMeta);
-        return this;
+    /**
+     * Like {@link #setSkullOwner(String, DevSystem)}, and if the head is built as a placeholder,
+     * replaces it in {@code slot} once the lookup completes. The patch runs on the viewer's
+     * scheduler and is skipped if the slot no longer holds the placeholder.
+     */
+    public ItemBuilder setSkullOwner(String name, DevSystem devSystem, Player viewer, Inventory inventory, int slot) {
+        return setSkullOwner(name, devSystem, (placeholder, head) -> viewer.getScheduler().run(devSystem, task -> {
+            ItemStack current = inventory.getItem(slot);
+            if (current == null || !current.isSimilar(placeholder)) return;
+            head.setAmount(current.getAmount());
+            inventory.setItem(slot, head);
+        }, null));
     }
 
-    public ItemBuilder setFireWorkColor(Color color) {
-        ItemMeta itemMeta = this.itemStack.getItemMeta();
-        itemMeta.setCustomModelData(100);
-        itemStack.setItemMeta(itemMeta);
-        itemMeta = itemStack.getItemMeta();
-        FireworkEffectMeta fireworkEffectMeta = (FireworkEffectMeta) itemMeta;
-        fireworkEffectMeta.setEffect(FireworkEffect.builder().withColor(color).build());
-        this.itemStack.setItemMeta(fireworkEffectMeta);
+    private ItemBuilder setSkullOwner(String name, DevSystem devSystem, BiConsumer<ItemStack, ItemStack> onResolved) {
+        setSkullOwner(name, devSystem);
+        SkullCache skullCache = devSystem.getSkullCache();
+        ownerPatch = skullCache.getCachedOwner(name) == null ? new OwnerPatch(skullCache, name, onResolved) : null;
         return this;
     }
 
-    public ItemBuilder setSkullOwner(String name, DevSystem devSystem) {
-        OfflinePlayer offlinePlayer = devSystem.getServer().getOfflinePlayer(name);
-        if (offlinePlayer.hasPlayedBefore()) {
-            this.itemStack.editMeta(itemMeta -> {
-                SkullMeta skullMeta = (SkullMeta) itemMeta;
-                skullMeta.setOwningPlayer(offlinePlayer);
+    /**
+     * Completes a placeholder head once its owner is resolved.
+     *
+     * @param onResolved receives the placeholder and a patched copy of it
+     */
+    private record OwnerPatch(SkullCache skullCache, String name, BiConsumer<ItemStack, ItemStack> onResolved) {
+
+        private void start(ItemStack placeholder) {
+            skullCache.resolveOwner(name).thenAccept(profile -> {
+                if (profile == null) return;
+                ItemStack head = placeholder.clone();
+                head.editMeta(skullProfile(profile));
+                onResolved.accept(placeholder, head);
             });
         }
-        return this;
     }
 
 
     public ItemBuilder clearAllAttributes() {
-        this.itemStack.editMeta(itemMeta -> {
-            itemMeta.addItemFlags(ItemFlag.values());
-        });
-        return this;
+        pending.hideAllFlags = true;
+        return changed();
     }
 
     public ItemBuilder amount(int amount) {
@@ -178,15 +268,46 @@ public class ItemBuilder {
     }
 
     public ItemBuilder loreWrap(@NotNull Component deserialize) {
-        ItemMeta itemMeta = itemStack.getItemMeta();
-        List<Component> lore = itemMeta.lore();
-        if (lore == null) {
-            lore = new ArrayList<>();
+        if (pending.lore == null) {
+            List<Component> current = this.itemStack.hasItemMeta() ? this.itemStack.getItemMeta().lore() : null;
+            pending.lore = current != null ? new ArrayList<>(current) : new ArrayList<>();
+        }
+        pending.lore.add(deserialize.decoration(TextDecoration.ITALIC, false));
+        return changed();
+    }
+
+    /**
+     * Meta changes collected until {@link #build()}.
+     */
+    private static final class PendingMeta {
+
+        private Component name;
+        private List<Component> lore;
+        private Integer customModelData;
+        private boolean hideAllFlags;
+        private final List<Consumer<ItemMeta>> edits = new ArrayList<>();
+
+        private boolean isEmpty() {
+            return name == null && lore == null && customModelData == null && !hideAllFlags && edits.isEmpty();
+        }
+
+        private void applyTo(ItemMeta itemMeta) {
+            if (name != null) itemMeta.displayName(name);
+            if (lore != null) itemMeta.lore(lore);
+            if (customModelData != null) itemMeta.setCustomModelData(customModelData);
+            if (hideAllFlags) itemMeta.addItemFlags(ItemFlag.values());
+            for (Consumer<ItemMeta> edit : edits) {
+                edit.accept(itemMeta);
+            }
+        }
+
+        private void clear() {
+            name = null;
+            lore = null;
+            customModelData = null;
+            hideAllFlags = false;
+            edits.clear();
         }
-        lore.add(deserialize.decoration(TextDecoration.ITALIC, false));
-        itemMeta.lore(lore);
-        itemStack.setItemMeta(itemMeta);
-        return this;
     }
 
    // public ItemBuilder glow(){
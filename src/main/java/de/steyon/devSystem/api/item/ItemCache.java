@@ -0,0 +1,132 @@
+package de.steyon.devSystem.api.item;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of built items.
+ * <p>
+ * Entries are keyed by everything that influences the rendered item (material, the raw
+ * name/lore templates and the placeholder values), so callers get a clone of an identical
+ * item without running MiniMessage and meta edits again. Each key belongs to a group,
+ * e.g. a plugin name, which can be invalidated on its own.
+ */
+public class ItemCache {
+
+    private final int maxEntries;
+    private final Map<Key, ItemTemplate> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ItemCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 64), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ItemTemplate> eldest) {
+                if (size() > ItemCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @param key the content key of the item
+     * @param builder builds the item on a miss, called outside the cache lock
+     * @return a clone of the cached item
+     */
+    public ItemStack get(Key key, Supplier<ItemStack> builder) {
+        ItemTemplate template;
+        synchronized (entries) {
+            template = entries.get(key);
+        }
+        if (template != null) {
+            hits.increment();
+            return template.create();
+        }
+
+        misses.increment();
+        ItemTemplate built = new ItemTemplate(builder.get());
+        synchronized (entries) {
+            ItemTemplate existing = entries.putIfAbsent(key, built);
+            if (existing != null) built = existing;
+        }
+        return built.create();
+    }
+
+    /**
+     * @param group the group to drop, e.g. a plugin whose state changed
+     */
+    public void invalidate(String group) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.group().equals(group));
+        }
+    }
+
+    /**
+     * @param filter selects the entries to drop, e.g. by a locale part
+     */
+    public void invalidateIf(Predicate<Key> filter) {
+        synchronized (entries) {
+            entries.keySet().removeIf(filter);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int getSize() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    /**
+     * @param group the invalidation group of the entry
+     * @param material the item material
+     * @param parts the raw templates and placeholder values the item is rendered from
+     */
+    public record Key(String group, Material material, List<String> parts) {
+
+        public static Key of(String group, Material material, String... parts) {
+            List<String> values = new ArrayList<>(parts.length);
+            for (String part : parts) {
+                values.add(part != null ? part : "");
+            }
+            return new Key(group, material, List.copyOf(values));
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package de.steyon.devSystem.api.item;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * An immutable, fully built item.
+ * <p>
+ * The template keeps a private copy of the stack and only hands out clones,
+ * so the meta is built once and every caller gets an independent item.
+ */
+public final class ItemTemplate {
+
+    private final ItemStack itemStack;
+
+    public ItemTemplate(ItemStack itemStack) {
+        this.itemStack = itemStack.clone();
+    }
+
+    /**
+     * @return a new copy of the template item
+     */
+    public ItemStack create() {
+        return itemStack.clone();
+    }
+
+    /**
+     * @return a builder working on a new copy of the template item
+     */
+    public ItemBuilder toBuilder() {
+        return new ItemBuilder(create());
+    }
+
+    public Material getType() {
+        return itemStack.getType();
+    }
+}
@@ -0,0 +1,28 @@
+package de.steyon.devSystem.api.item;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import org.bukkit.Bukkit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Resolves a player name to a completed profile including its textures.
+ * The default implementation asks the server's profile service; a local
+ * stand-in can be used where no session server is available.
+ */
+@FunctionalInterface
+public interface ProfileResolver {
+
+    CompletableFuture<PlayerProfile> resolve(String name);
+
+    /**
+     * A stand-in that never contacts the session server. It completes immediately with a profile
+     * carrying the offline-mode UUID of the name and no textures, for tests and offline servers.
+     */
+    static ProfileResolver offline() {
+        return name -> CompletableFuture.completedFuture(Bukkit.createProfile(
+            UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8)), name));
+    }
+}
@@ -0,0 +1,124 @@
+package de.steyon.devSystem.api.item;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.profile.PlayerTextures;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Caches skull profiles.
+ * <p>
+ * Texture profiles are keyed by texture hash and get a UUID derived from that hash, so the
+ * same texture always produces the same profile and the client can reuse its cached skin.
+ * Owner profiles are resolved by name off the main thread; until a name is resolved callers
+ * show a placeholder head, which the {@link ItemBuilder} {@code setSkullOwner} overloads complete
+ * or patch into its slot once the future of {@link #resolveOwner} completes.
+ */
+public class SkullCache {
+
+    private static final int MAX_TEXTURES = 1024;
+    private static final Map<String, PlayerProfile> TEXTURES = new ConcurrentHashMap<>();
+
+    private final ProfileResolver resolver;
+    private final Map<String, CompletableFuture<PlayerProfile>> owners = new ConcurrentHashMap<>();
+
+    public SkullCache(Plugin plugin) {
+        this(defaultResolver(plugin));
+    }
+
+    /**
+     * @param resolver resolves owner names, e.g. {@link ProfileResolver#offline()} where no session server is available
+     */
+    public SkullCache(ProfileResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * @param textureUrl a skin url, e.g. {@code http://textures.minecraft.net/texture/<hash>}
+     * @return the shared profile for the texture
+     */
+    public static PlayerProfile textureProfile(String textureUrl) {
+        String hash = textureUrl.substring(textureUrl.lastIndexOf('/') + 1);
+        return cachedTexture("url:" + hash, uuid -> {
+            PlayerProfile profile = Bukkit.createProfile(uuid);
+            PlayerTextures textures = profile.getTextures();
+            try {
+                textures.setSkin(new URI(textureUrl).toURL());
+            } catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid skull texture url: " + textureUrl, e);
+            }
+            profile.setTextures(textures);
+            return profile;
+        });
+    }
+
+    /**
+     * @param value the base64 encoded {@code textures} property
+     * @return the shared profile for the texture value
+     */
+    public static PlayerProfile valueProfile(String value) {
+        return cachedTexture("value:" + value, uuid -> {
+            PlayerProfile profile = Bukkit.createProfile(uuid);
+            profile.setProperty(new ProfileProperty("textures", value));
+            return profile;
+        });
+    }
+
+    private static PlayerProfile cachedTexture(String key, Function<UUID, PlayerProfile> factory) {
+        PlayerProfile profile = TEXTURES.get(key);
+        if (profile != null) return profile;
+
+        if (TEXTURES.size() >= MAX_TEXTURES) {
+            TEXTURES.clear();
+        }
+        UUID uuid = UUID.nameUUIDFromBytes(("DevSystem:skull:" + key).getBytes(StandardCharsets.UTF_8));
+        return TEXTURES.computeIfAbsent(key, ignored -> factory.apply(uuid));
+    }
+
+    /**
+     * @param name the player name
+     * @return the resolved profile, or null if it has not been resolved yet
+     */
+    public PlayerProfile getCachedOwner(String name) {
+        CompletableFuture<PlayerProfile> future = owners.get(name.toLowerCase(Locale.ROOT));
+        return future != null && future.isDone() && !future.isCompletedExceptionally() ? future.getNow(null) : null;
+    }
+
+    /**
+     * Starts resolving a name unless it is already resolved or in flight. Failed lookups are
+     * forgotten so they are retried on the next request.
+     */
+    public CompletableFuture<PlayerProfile> resolveOwner(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        return owners.computeIfAbsent(key, ignored -> resolver.resolve(name)
+            .whenComplete((profile, error) -> {
+                if (error != null || profile == null) owners.remove(key);
+            }));
+    }
+
+    public void clear() {
+        owners.clear();
+        TEXTURES.clear();
+    }
+
+    private static ProfileResolver defaultResolver(Plugin plugin) {
+        Executor async = task -> plugin.getServer().getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+        return name -> CompletableFuture.supplyAsync(() -> {
+            PlayerProfile profile = Bukkit.createProfile(name);
+            return profile.complete(true) ? profile : null;
+        }, async);
+    }
+}
@@ -3,75 +3,89 @@ package de.steyon.devSystem.config;
 import lombok.Getter;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 
 public class Config {
 
+    private static final String DEFAULT_PREFIX = "<gradient:green:blue>DevSystem</gradient> <dark_gray>»</dark_gray> ";
+    private static final Object UNSET = new Object();
+
     private final Plugin plugin;
-    
-    @Getter
-    private final Map<String, FileConfiguration> configs;
-    
-    @Getter
-    private final Map<String, File> configFiles;
-    
-    @Getter
-    private FileConfiguration mainConfig;
-    
+    private final ConfigSaver saver;
+    private final ConfigCache cache;
+    private final MessageBundles bundles;
+
     @Getter
-    private String prefix;
-    
-    private final Map<String, Object> valueCache = new ConcurrentHashMap<>();
-    private final Map<String, Map<String, Object>> configValueCache = new ConcurrentHashMap<>();
-    
+    private final Map<String, File> configFiles = new ConcurrentHashMap<>();
+
+    /**
+     * Everything readers see is published through this one field, so a reload swaps the
+     * parsed configs, the prefix, the key values and all derived caches at once.
+     */
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), DEFAULT_PREFIX, new Object[0]);
+
+    private final Map<String, Long> loadedStamps = new ConcurrentHashMap<>();
+
     private final Map<String, Map<String, Object>> defaultValues = new HashMap<>();
-    
+
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Predicate<String>>> bundleListeners = new CopyOnWriteArrayList<>();
+
+    private final List<ConfigKey<?>> boundKeys = new CopyOnWriteArrayList<>();
+    private final Map<ConfigKey<?>, List<Consumer<Object>>> changeListeners = new ConcurrentHashMap<>();
+
     @Getter
-    private int configVersion = 1;
+    private volatile int configVersion = 1;
 
     public Config(Plugin plugin) {
         this.plugin = plugin;
-        this.configs = new HashMap<>();
-        this.configFiles = new HashMap<>();
-        
-        this.prefix = "<gradient:green:blue>DevSystem</gradient> <dark_gray>»</dark_gray> ";
-        
+        this.saver = new ConfigSaver(plugin, this);
+        this.cache = new ConfigCache(plugin);
+        this.bundles = new MessageBundles(plugin, this, cache);
+        plugin.getServer().getPluginManager().registerEvents(bundles, plugin);
+
         setupDefaultValues();
-        
+
         createDefaultConfig();
-        
-        loadPrefix();
     }
-    
-    private void loadPrefix() {
-        String configPrefix = mainConfig.getString("messages.prefix");
+
+    private static String readPrefix(FileConfiguration mainConfig, String fallback) {
+        String configPrefix = mainConfig != null ? mainConfig.getString("messages.prefix") : null;
         if (configPrefix != null && !configPrefix.isEmpty()) {
-            this.prefix = configPrefix;
+            return configPrefix;
         }
+        return fallback;
     }
-    
+
     private void setupDefaultValues() {
         Map<String, Object> messageDefaults = new HashMap<>();
-        
+
         messageDefaults.put("prefix", "<bold><gradient:green:blue>DevSystem</gradient></bold> <dark_gray>»</dark_gray> ");
         messageDefaults.put("welcome", "<prefix><white>Welcome to the <gradient:green:blue>DevSystem</gradient>!</white>");
         messageDefaults.put("reload", "<prefix><white>Configuration has been <green>reloaded</green>!</white>");
         messageDefaults.put("no-permission", "<prefix><red>You don't have permission to use this command!</red>");
-        
+
         Map<String, String> pluginDefaults = new HashMap<>();
         pluginDefaults.put("enabled", "<prefix><white>Plugin has been <green>enabled</green>!</white>");
         pluginDefaults.put("disabled", "<prefix><white>Plugin has been <red>disabled</red>!</white>");
@@ -92,105 +106,117 @@ public class Config {
         errorDefaults.put("file-delete-fail", "<prefix><gray>Failed to delete file <aqua>{name}</aqua>.");
         errorDefaults.put("file-not-exist", "<prefix><gray>File <aqua>{name}</aqua> <gray>does not exist.");
         messageDefaults.put("error", errorDefaults);
-        
+
         defaultValues.put("messages", messageDefaults);
     }
 
     private void createDefaultConfig() {
         saveDefaultConfig("config.yml");
-        this.mainConfig = configs.get("config.yml");
-        
-        handleConfigVersion();
-        
+
         plugin.getServer().getConsoleSender().sendMessage(
                 getPluginMessage("config-loaded")
         );
     }
-    
-    private void handleConfigVersion() {
+
+    private void handleConfigVersion(FileConfiguration mainConfig) {
         int currentVersion = mainConfig.getInt("config-version", 1);
         this.configVersion = currentVersion;
-        
+
         if (currentVersion < getLatestConfigVersion()) {
             plugin.getLogger().info("Outdated config detected (v" + currentVersion + "). Updating to v" + getLatestConfigVersion());
-            migrateConfig(currentVersion);
+            migrateConfig(mainConfig, currentVersion);
         }
     }
-    
+
     public int getLatestConfigVersion() {
         return 1;
     }
-    
-    private void migrateConfig(int fromVersion) {
+
+    private void migrateConfig(FileConfiguration mainConfig, int fromVersion) {
         if (fromVersion < 2) {
         }
-        
+
         mainConfig.set("config-version", getLatestConfigVersion());
-        
+
         try {
-            mainConfig.save(configFiles.get("config.yml"));
+            File configFile = configFiles.get("config.yml");
+            ConfigSaver.write(configFile, mainConfig.saveToString());
+            markSaved("config.yml", configFile);
             plugin.getLogger().info("Config successfully migrated to v" + getLatestConfigVersion());
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Failed to save migrated config", e);
         }
-        
-        clearCache();
     }
 
     public void saveDefaultConfig(String configName) {
         File configFile = new File(plugin.getDataFolder(), configName);
-        
+
         if (!configFile.exists()) {
             plugin.saveResource(configName, false);
         }
-        
-        FileConfiguration config = loadConfig(configFile);
-        configs.put(configName, config);
+
         configFiles.put(configName, configFile);
+        publishConfig(configName, parseConfig(configName), false);
     }
-    
+
     private FileConfiguration loadConfig(File file) {
-        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
-        
         try {
-            InputStream defaultStream = plugin.getResource(file.getName());
-            if (defaultStream != null) {
-                YamlConfiguration defaultConfig = YamlConfiguration.loadConfiguration(
-                        new InputStreamReader(defaultStream, StandardCharsets.UTF_8));
-                config.setDefaults(defaultConfig);
-            }
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Could not load default config for " + file.getName(), e);
+            return loadConfig(file, false);
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().log(Level.SEVERE, "Cannot load " + file, e);
+            return new YamlConfiguration();
         }
-        
-        return config;
+    }
+
+    private FileConfiguration loadConfig(File file, boolean strict) throws IOException, InvalidConfigurationException {
+        long start = System.nanoTime();
+        ConfigCache.Result result = cache.load(file, strict);
+        plugin.getLogger().info(String.format("%s %s in %.2f ms", result.cached() ? "Restored" : "Parsed",
+                file.getName(), (System.nanoTime() - start) / 1_000_000.0));
+        return result.config();
     }
 
     public FileConfiguration getConfig(String name) {
-        return configs.getOrDefault(name, null);
+        return snapshot.configs.get(name);
     }
-    
+
+    /**
+     * @return an immutable view of the currently published configs
+     */
+    public Map<String, FileConfiguration> getConfigs() {
+        return snapshot.configs;
+    }
+
+    public FileConfiguration getMainConfig() {
+        return snapshot.configs.get("config.yml");
+    }
+
+    public String getPrefix() {
+        return snapshot.prefix;
+    }
+
     public FileConfiguration createConfig(String name, FileConfiguration defaults) {
         File configFile = new File(plugin.getDataFolder(), name);
-        
+
         try {
             if (!configFile.exists()) {
                 if (configFile.createNewFile()) {
                     plugin.getLogger().info("Created new config file: " + name);
                 }
             }
-            
+
             FileConfiguration config = YamlConfiguration.loadConfiguration(configFile);
-            
+
             if (defaults != null) {
                 config.setDefaults(defaults);
                 config.options().copyDefaults(true);
-                config.save(configFile);
+                ConfigSaver.write(configFile, config.saveToString());
             }
-            
-            configs.put(name, config);
+
             configFiles.put(name, configFile);
-            
+            markSaved(name, configFile);
+            publishConfig(name, config, false);
+
             return config;
         } catch (IOException e) {
             plugin.getLogger().log(Level.SEVERE, "Could not create config file: " + name, e);
@@ -198,117 +224,379 @@ public class Config {
         }
     }
 
+    /**
+     * Queues the config for saving. The file is written on a background thread and repeated
+     * calls before that write are coalesced into one.
+     *
+     * @apiNote Use {@link #flush()} if the file must be on disk when this returns.
+     */
     public void saveConfig(String name) {
-        FileConfiguration config = configs.get(name);
-        File configFile = configFiles.get(name);
-        
-        if (config == null || configFile == null) {
+        if (!snapshot.configs.containsKey(name) || !configFiles.containsKey(name)) {
             plugin.getServer().getConsoleSender().sendMessage(
                     getErrorMessage("config-save")
             );
             return;
         }
-        
-        try {
-            config.save(configFile);
-        } catch (IOException e) {
-            plugin.getServer().getConsoleSender().sendMessage(
-                    getErrorMessage("config-save")
-            );
-            plugin.getLogger().log(Level.SEVERE, "Could not save config: " + name, e);
-        }
+
+        saver.request(name);
+    }
+
+    /**
+     * Writes every config with a pending save on the calling thread.
+     */
+    public void flush() {
+        saver.flush();
+    }
+
+    /**
+     * Stops the background saver after writing all pending saves, called when the plugin is disabled.
+     */
+    public void shutdown() {
+        saver.shutdown();
+    }
+
+    void markSaved(String name, File file) {
+        loadedStamps.put(name, file.lastModified());
     }
 
     public void reloadConfig(String name) {
-        File configFile = configFiles.get(name);
-        
-        if (configFile == null) {
+        FileConfiguration config = parseConfig(name);
+
+        if (config == null) {
             plugin.getServer().getConsoleSender().sendMessage(
                     getErrorMessage("config-load")
             );
             return;
         }
-        
+
+        publishConfig(name, config, true);
+    }
+
+    /**
+     * Parses a known config file without touching the published state, so it can run off-thread.
+     *
+     * @return the parsed config, or null if the file is unknown
+     */
+    FileConfiguration parseConfig(String name) {
+        File configFile = configFiles.get(name);
+        if (configFile == null) return null;
+
+        long stamp = configFile.lastModified();
         FileConfiguration config = loadConfig(configFile);
-        configs.put(name, config);
-        
-        if (name.equals("config.yml")) {
-            this.mainConfig = config;
-            handleConfigVersion();
-            loadPrefix();
+        loadedStamps.put(name, stamp);
+        return config;
+    }
+
+    /**
+     * Like {@link #parseConfig(String)}, but fails on invalid YAML instead of returning an empty config,
+     * so a half-written file never replaces the published one.
+     */
+    FileConfiguration parseConfigStrict(String name) throws IOException, InvalidConfigurationException {
+        File configFile = configFiles.get(name);
+        if (configFile == null) return null;
+
+        long stamp = configFile.lastModified();
+        FileConfiguration config = loadConfig(configFile, true);
+        loadedStamps.put(name, stamp);
+        return config;
+    }
+
+    /**
+     * @return true if the file changed on disk since it was last loaded or saved by this instance
+     */
+    boolean isModifiedOnDisk(String name) {
+        File configFile = configFiles.get(name);
+        if (configFile == null) return false;
+
+        Long stamp = loadedStamps.get(name);
+        return stamp == null || stamp != configFile.lastModified();
+    }
+
+    /**
+     * Publishes a parsed config with a single snapshot swap. Key values are re-read, and the
+     * value and template caches start empty with the new snapshot.
+     */
+    void publishConfig(String name, FileConfiguration config, boolean notify) {
+        List<ConfigKey<?>> changed = new ArrayList<>();
+        Snapshot next = swap(name, config, changed);
+
+        if (!notify) return;
+
+        bundles.clear();
+        fireChanges(next, changed);
+
+        for (Runnable listener : reloadListeners) {
+            listener.run();
         }
-        
-        clearCacheForConfig(name);
-        
+
         plugin.getServer().getConsoleSender().sendMessage(
                 getMessage("reload")
         );
     }
 
+    /**
+     * Replaces one config in a new snapshot with empty value and template caches.
+     *
+     * @param changed receives the bound keys whose value changed
+     * @return the published snapshot
+     */
+    private synchronized Snapshot swap(String name, FileConfiguration config, List<ConfigKey<?>> changed) {
+        Snapshot current = snapshot;
+        Map<String, FileConfiguration> configs = new HashMap<>(current.configs);
+        configs.put(name, config);
+
+        String prefix = current.prefix;
+        if (name.equals("config.yml")) {
+            handleConfigVersion(config);
+            prefix = readPrefix(config, DEFAULT_PREFIX);
+        }
+
+        Object[] values = current.values.clone();
+        boolean prefixChanged = !prefix.equals(current.prefix);
+        for (ConfigKey<?> key : boundKeys) {
+            if (!prefixChanged && !key.getConfig().equals(name)) continue;
+
+            Object value = readKey(key, configs, prefix);
+            if (!Objects.equals(values[key.index], value)) {
+                values[key.index] = value;
+                changed.add(key);
+            }
+        }
+
+        Snapshot next = new Snapshot(Map.copyOf(configs), prefix, values);
+        snapshot = next;
+        return next;
+    }
+
+    /**
+     * Runs the bundle listeners after a message bundle finished loading, so state rendered
+     * with the config.yml fallback is rebuilt in the bundle's language.
+     */
+    void bundleLoaded(String bundle) {
+        Predicate<String> affected = localeKey -> bundles.appliesTo(bundle, localeKey);
+        for (Consumer<Predicate<String>> listener : bundleListeners) {
+            listener.accept(affected);
+        }
+    }
+
+    /**
+     * Registers a callback that runs after a config file has been reloaded, used to drop state
+     * derived from config values such as GUI templates. It may run on any thread.
+     */
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Registers a callback that runs after a message bundle was loaded. It receives a test for the
+     * {@link #localeKey(CommandSender) locale keys} whose messages may have changed, so only state
+     * rendered for those locales needs to be dropped. It may run on any thread.
+     */
+    public void addBundleListener(Consumer<Predicate<String>> listener) {
+        bundleListeners.add(listener);
+    }
+
     public void reloadAllConfigs() {
-        for (String name : configs.keySet()) {
+        for (String name : snapshot.configs.keySet()) {
             reloadConfig(name);
         }
-        
-        clearCache();
     }
-    
+
     public ConfigurationSection getSection(String config, String path) {
-        FileConfiguration configuration = configs.get(config);
+        FileConfiguration configuration = snapshot.configs.get(config);
         if (configuration == null) return null;
-        
+
         return configuration.getConfigurationSection(path);
     }
-    
+
     @SuppressWarnings("unchecked")
     public <T> T getValue(String config, String path, T defaultValue) {
+        Snapshot current = snapshot;
         String cacheKey = config + ":" + path;
-        
-        if (valueCache.containsKey(cacheKey)) {
-            return (T) valueCache.get(cacheKey);
+
+        if (current.valueCache.containsKey(cacheKey)) {
+            return (T) current.valueCache.get(cacheKey);
         }
-        
-        FileConfiguration configuration = configs.get(config);
+
+        FileConfiguration configuration = current.configs.get(config);
         if (configuration == null) return defaultValue;
-        
+
         Object value = configuration.get(path, defaultValue);
-        
+
         if (value instanceof String) {
-            value = ((String) value).replace("<prefix>", prefix);
+            value = ((String) value).replace("<prefix>", current.prefix);
         }
-        
-        valueCache.put(cacheKey, value);
-        
+
+        current.valueCache.put(cacheKey, value);
+
         return (T) value;
     }
-    
+
+    /**
+     * Sets the value in a copy of the config and publishes the copy with a snapshot swap, so
+     * readers of the current snapshot never see a config change under them.
+     */
     public void setValue(String config, String path, Object value) {
-        FileConfiguration configuration = configs.get(config);
-        if (configuration == null) return;
-        
-        configuration.set(path, value);
-        
+        List<ConfigKey<?>> changed = new ArrayList<>();
+        Snapshot next;
+        synchronized (this) {
+            FileConfiguration configuration = snapshot.configs.get(config);
+            if (configuration == null) return;
+
+            next = swap(config, copyWith(configuration, path, value), changed);
+        }
+        fireChanges(next, changed);
+    }
+
+    private static FileConfiguration copyWith(FileConfiguration source, String path, Object value) {
+        String data;
+        synchronized (source) {
+            data = source.saveToString();
+        }
+
+        YamlConfiguration copy = new YamlConfiguration();
+        try {
+            copy.loadFromString(data);
+        } catch (InvalidConfigurationException e) {
+            throw new IllegalStateException("Could not copy config", e);
+        }
+        if (source.getDefaults() != null) copy.setDefaults(source.getDefaults());
+        copy.set(path, value);
+        return copy;
+    }
+
+    /**
+     * @param key the key to read
+     * @return the current value, read from the immutable snapshot of bound keys
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(ConfigKey<T> key) {
+        Object[] values = snapshot.values;
+        if (key.index < values.length) {
+            Object value = values[key.index];
+            if (value != UNSET) return (T) value;
+        }
+        return bind(key);
+    }
+
+    /**
+     * Registers a listener that is called with the new value whenever a reload or
+     * {@link #setValue(String, String, Object)} changes the value of the key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void onChange(ConfigKey<T> key, Consumer<? super T> listener) {
+        get(key);
+        changeListeners.computeIfAbsent(key, ignored -> new CopyOnWriteArrayList<>())
+            .add(value -> listener.accept((T) value));
+    }
+
+    private synchronized <T> T bind(ConfigKey<T> key) {
+        Snapshot current = snapshot;
+        Object[] values = current.values;
+        if (key.index < values.length && values[key.index] != UNSET) {
+            @SuppressWarnings("unchecked") T bound = (T) values[key.index];
+            return bound;
+        }
+
+        T value = readKey(key, current.configs, current.prefix);
+        Object[] next = Arrays.copyOf(values, Math.max(values.length, ConfigKey.count()));
+        Arrays.fill(next, values.length, next.length, UNSET);
+        next[key.index] = value;
+        boundKeys.add(key);
+        snapshot = current.withValues(next);
+        return value;
+    }
+
+    private static <T> T readKey(ConfigKey<T> key, Map<String, FileConfiguration> configs, String prefix) {
+        FileConfiguration configuration = configs.get(key.getConfig());
+        if (configuration == null) return key.getDefaultValue();
+
+        T value = key.read(configuration);
+        if (value instanceof String string) {
+            @SuppressWarnings("unchecked") T replaced = (T) string.replace("<prefix>", prefix);
+            return replaced;
+        }
+        return value;
+    }
+
+    private void fireChanges(Snapshot published, List<ConfigKey<?>> changed) {
+        for (ConfigKey<?> key : changed) {
+            List<Consumer<Object>> listeners = changeListeners.get(key);
+            if (listeners == null) continue;
+            for (Consumer<Object> listener : listeners) {
+                listener.accept(published.values[key.index]);
+            }
+        }
+    }
+
+    /**
+     * @param path the path in config.yml
+     * @param defaultValue the template used if the path is not set
+     * @return the compiled template, cached until the config is reloaded
+     */
+    public MessageTemplate template(String path, String defaultValue) {
+        return template("config.yml", path, defaultValue);
+    }
+
+    public MessageTemplate template(String config, String path, String defaultValue) {
+        Snapshot current = snapshot;
         String cacheKey = config + ":" + path;
-        valueCache.put(cacheKey, value);
+        MessageTemplate template = current.templateCache.get(cacheKey);
+        if (template != null) return template;
+
+        template = MessageTemplate.compile(MiniMessage.miniMessage(), String.valueOf(getValue(config, path, defaultValue)));
+        current.templateCache.put(cacheKey, template);
+        return template;
     }
-    
+
+    /**
+     * @param locale the locale of the receiver
+     * @param path the path in config.yml, looked up in the locale bundles first
+     * @param defaultValue the template used if neither a bundle nor config.yml defines the path
+     * @return the compiled template of the best matching bundle, or of config.yml
+     */
+    public MessageTemplate template(Locale locale, String path, String defaultValue) {
+        MessageTemplate template = bundles.find(locale, path);
+        return template != null ? template : template(path, defaultValue);
+    }
+
+    /**
+     * @apiNote Players get the template for {@link Player#locale()}, everyone else the one from config.yml.
+     */
+    public MessageTemplate template(CommandSender sender, String path, String defaultValue) {
+        return sender instanceof Player player
+            ? template(player.locale(), path, defaultValue)
+            : template(path, defaultValue);
+    }
+
+    /**
+     * @return a key that differs between senders receiving messages from different bundles,
+     * for caches of rendered messages shared between senders
+     */
+    public String localeKey(CommandSender sender) {
+        return sender instanceof Player player ? player.locale().toString().toLowerCase(Locale.ROOT) : "";
+    }
+
     public void clearCache() {
-        valueCache.clear();
-        configValueCache.clear();
+        synchronized (this) {
+            Snapshot current = snapshot;
+            snapshot = new Snapshot(current.configs, current.prefix, current.values);
+        }
+        bundles.clear();
     }
-    
+
     public void clearCacheForConfig(String config) {
-        valueCache.entrySet().removeIf(entry -> entry.getKey().startsWith(config + ":"));
-        
-        configValueCache.remove(config);
+        Snapshot current = snapshot;
+        current.valueCache.keySet().removeIf(key -> key.startsWith(config + ":"));
+        current.templateCache.keySet().removeIf(key -> key.startsWith(config + ":"));
     }
 
-    private String getRawMessage(String path, String defaultMessage) {
-        String configMessage = mainConfig.getString("messages." + path);
+    private String getRawMessage(FileConfiguration mainConfig, String path, String defaultMessage) {
+        String configMessage = mainConfig != null ? mainConfig.getString("messages." + path) : null;
         if (configMessage != null) {
             return configMessage;
         }
-        
+
         String[] parts = path.split("\\.", 2);
         if (parts.length == 2) {
             Map<String, Object> sectionDefaults = defaultValues.get("messages");
@@ -324,41 +612,47 @@ public class Config {
                 return (String) sectionDefaults.get(path);
             }
         }
-        
+
         return defaultMessage;
     }
 
     public Component getMessage(String path) {
-        String defaultMessage = "";
-        String message = getRawMessage(path, defaultMessage);
-        return MiniMessage.miniMessage().deserialize(message.replace("<prefix>", prefix));
+        return messageTemplate(path).render();
     }
-    
+
     public Component getPluginMessage(String path) {
-        String defaultMessage = "";
-        String message = getRawMessage("plugin." + path, defaultMessage);
-        return MiniMessage.miniMessage().deserialize(message.replace("<prefix>", prefix));
+        return messageTemplate("plugin." + path).render();
     }
-    
+
     public Component getErrorMessage(String path) {
-        String defaultMessage = "";
-        String message = getRawMessage("error." + path, defaultMessage);
-        return MiniMessage.miniMessage().deserialize(message.replace("<prefix>", prefix));
+        return messageTemplate("error." + path).render();
     }
-    
+
+    private MessageTemplate messageTemplate(String path) {
+        Snapshot current = snapshot;
+        String cacheKey = "config.yml:messages." + path;
+        MessageTemplate template = current.templateCache.get(cacheKey);
+        if (template != null) return template;
+
+        String message = getRawMessage(current.configs.get("config.yml"), path, "");
+        template = MessageTemplate.compile(MiniMessage.miniMessage(), message.replace("<prefix>", current.prefix));
+        current.templateCache.put(cacheKey, template);
+        return template;
+    }
+
     public List<String> getStringList(String path, List<String> defaultList) {
-        List<String> list = mainConfig.getStringList(path);
+        List<String> list = getMainConfig().getStringList(path);
         return list.isEmpty() ? defaultList : list;
     }
-    
+
     public boolean hasPath(String path) {
-        return mainConfig.contains(path);
+        return getMainConfig().contains(path);
     }
-    
+
     public List<String> getKeys(String path, boolean deep) {
-        ConfigurationSection section = mainConfig.getConfigurationSection(path);
+        ConfigurationSection section = getMainConfig().getConfigurationSection(path);
         if (section == null) return List.of();
-        
+
         return List.copyOf(section.getKeys(deep));
     }
 
@@ -366,7 +660,7 @@ public class Config {
     public Map<String, Object> getMessages() {
         return defaultValues.get("messages");
     }
-    
+
     public String getMessage(String category, String key, String... placeholders) {
         String message = ((HashMap<String, String>) getMessages().get(category)).getOrDefault(key, "<red>Message not found: " + key + "</red>");
         message = message.replace("<prefix>", getPrefix());
@@ -388,4 +682,34 @@ public class Config {
         };
     }
 
-} 
\ No newline at end of file
+    /**
+     * The published state: parsed configs, prefix and key values, plus the caches derived
+     * from exactly this state. A new snapshot always starts with empty caches unless only
+     * key values changed.
+     */
+    private static final class Snapshot {
+
+        private final Map<String, FileConfiguration> configs;
+        private final String prefix;
+        private final Object[] values;
+        private final Map<String, Object> valueCache;
+        private final Map<String, MessageTemplate> templateCache;
+
+        private Snapshot(Map<String, FileConfiguration> configs, String prefix, Object[] values) {
+            this(configs, prefix, values, new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+
+        private Snapshot(Map<String, FileConfiguration> configs, String prefix, Object[] values,
+                         Map<String, Object> valueCache, Map<String, MessageTemplate> templateCache) {
+            this.configs = configs;
+            this.prefix = prefix;
+            this.values = values;
+            this.valueCache = valueCache;
+            this.templateCache = templateCache;
+        }
+
+        private Snapshot withValues(Object[] values) {
+            return new Snapshot(configs, prefix, values, valueCache, templateCache);
+        }
+    }
+}
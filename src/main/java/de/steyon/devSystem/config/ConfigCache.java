@@ -0,0 +1,299 @@
+package de.steyon.devSystem.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary warm-start cache for parsed config files.
+ * <p>
+ * The parsed tree of a file and of its jar defaults, including comments, is stored in
+ * {@code <name>.cache} next to the YAML file. The cache is keyed by the file size, mtime and a
+ * CRC32C of the file and of the jar defaults, so any edit or plugin update falls back to parsing.
+ */
+final class ConfigCache {
+
+    private static final int MAGIC = 0x44534301;
+
+    private static final byte NULL = 0;
+    private static final byte SECTION = 1;
+    private static final byte STRING = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte BOOLEAN = 6;
+    private static final byte LIST = 7;
+    private static final byte MAP = 8;
+
+    private final Plugin plugin;
+
+    ConfigCache(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * The outcome of {@link #load(File, boolean)}.
+     *
+     * @param config the default-merged config
+     * @param cached whether YAML parsing was skipped
+     */
+    record Result(FileConfiguration config, boolean cached) {
+    }
+
+    /**
+     * @param file the YAML file
+     * @param strict whether invalid YAML throws instead of producing an empty config
+     * @return the config with the jar defaults applied
+     */
+    Result load(File file, boolean strict) throws IOException, InvalidConfigurationException {
+        byte[] content = file.exists() ? Files.readAllBytes(file.toPath()) : new byte[0];
+        byte[] defaults = readDefaults(file.getName());
+        Key key = new Key(content.length, file.lastModified(), hash(content), defaults == null ? 0 : hash(defaults));
+
+        File cacheFile = cacheFile(file);
+        YamlConfiguration restored = read(cacheFile, key);
+        if (restored != null) {
+            return new Result(restored, true);
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.loadFromString(new String(content, StandardCharsets.UTF_8));
+        } catch (InvalidConfigurationException e) {
+            if (strict) throw e;
+            plugin.getLogger().log(Level.SEVERE, "Cannot load " + file, e);
+            return new Result(config, false);
+        }
+
+        YamlConfiguration defaultConfig = null;
+        if (defaults != null) {
+            defaultConfig = new YamlConfiguration();
+            try {
+                defaultConfig.loadFromString(new String(defaults, StandardCharsets.UTF_8));
+                config.setDefaults(defaultConfig);
+            } catch (InvalidConfigurationException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not load default config for " + file.getName(), e);
+                defaultConfig = null;
+            }
+        }
+
+        write(cacheFile, key, config, defaultConfig);
+        return new Result(config, false);
+    }
+
+    private byte[] readDefaults(String name) throws IOException {
+        InputStream stream = plugin.getResource(name);
+        if (stream == null) return null;
+
+        try (stream) {
+            return stream.readAllBytes();
+        }
+    }
+
+    private static File cacheFile(File file) {
+        return new File(file.getParentFile(), file.getName() + ".cache");
+    }
+
+    private static long hash(byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return crc.getValue();
+    }
+
+    private YamlConfiguration read(File cacheFile, Key key) {
+        if (!cacheFile.isFile()) return null;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile.toPath())))) {
+            if (in.readInt() != MAGIC || !key.equals(new Key(in.readLong(), in.readLong(), in.readLong(), in.readLong()))) {
+                return null;
+            }
+
+            YamlConfiguration config = new YamlConfiguration();
+            readSection(in, config);
+            config.options().setHeader(readStrings(in));
+            config.options().setFooter(readStrings(in));
+            if (in.readBoolean()) {
+                YamlConfiguration defaults = new YamlConfiguration();
+                readSection(in, defaults);
+                config.setDefaults(defaults);
+            }
+            return config;
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().log(Level.FINE, "Ignoring unreadable config cache " + cacheFile, e);
+            return null;
+        }
+    }
+
+    private void write(File cacheFile, Key key, YamlConfiguration config, YamlConfiguration defaults) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(4096);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeInt(MAGIC);
+            out.writeLong(key.size);
+            out.writeLong(key.modified);
+            out.writeLong(key.hash);
+            out.writeLong(key.defaultsHash);
+            writeSection(out, config);
+            writeStrings(out, config.options().getHeader());
+            writeStrings(out, config.options().getFooter());
+            out.writeBoolean(defaults != null);
+            if (defaults != null) {
+                writeSection(out, defaults);
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            plugin.getLogger().log(Level.FINE, "Not caching " + cacheFile + ": " + e.getMessage());
+            return;
+        }
+
+        try {
+            ConfigSaver.write(cacheFile, buffer.toByteArray());
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not write config cache " + cacheFile, e);
+        }
+    }
+
+    private static void writeSection(DataOutputStream out, ConfigurationSection section) throws IOException {
+        List<String> keys = new ArrayList<>(section.getKeys(false));
+        out.writeInt(keys.size());
+        for (String key : keys) {
+            writeString(out, key);
+            writeStrings(out, section.getComments(key));
+            writeStrings(out, section.getInlineComments(key));
+            writeValue(out, section.get(key));
+        }
+    }
+
+    private static void readSection(DataInputStream in, ConfigurationSection section) throws IOException {
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            List<String> comments = readStrings(in);
+            List<String> inlineComments = readStrings(in);
+
+            byte tag = in.readByte();
+            if (tag == SECTION) {
+                readSection(in, section.createSection(key));
+            } else {
+                section.set(key, readValue(in, tag));
+            }
+            section.setComments(key, comments);
+            section.setInlineComments(key, inlineComments);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof ConfigurationSection section) {
+            out.writeByte(SECTION);
+            writeSection(out, section);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(out, string);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INT);
+            out.writeInt(number);
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            out.writeLong(number);
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(bool);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(LIST);
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, String.valueOf(entry.getKey()));
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            throw new UnsupportedOperationException("unsupported value type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(DataInputStream in, byte tag) throws IOException {
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> readString(in);
+            case INT -> in.readInt();
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case BOOLEAN -> in.readBoolean();
+            case LIST -> {
+                int size = in.readInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, in.readByte()));
+                }
+                yield list;
+            }
+            case MAP -> {
+                int size = in.readInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readString(in), readValue(in, in.readByte()));
+                }
+                yield map;
+            }
+            default -> throw new IOException("Unexpected value tag " + tag);
+        };
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            out.writeBoolean(string != null);
+            if (string != null) writeString(out, string);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(in.readBoolean() ? readString(in) : null);
+        }
+        return strings;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Key(long size, long modified, long hash, long defaultsHash) {
+    }
+}
@@ -0,0 +1,107 @@
+package de.steyon.devSystem.config;
+
+import lombok.Getter;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed handle for a config value, declared once and bound to its config file.
+ * <p>
+ * Every key owns a fixed index into the value snapshot of {@link Config}, so reading it is an
+ * array load instead of building a string cache key and hashing it.
+ *
+ * @param <T> the value type
+ */
+public final class ConfigKey<T> {
+
+    private static final AtomicInteger NEXT_INDEX = new AtomicInteger();
+
+    @Getter
+    private final String config;
+    @Getter
+    private final String path;
+    @Getter
+    private final T defaultValue;
+    private final Reader<T> reader;
+    final int index;
+
+    private ConfigKey(String config, String path, T defaultValue, Reader<T> reader) {
+        this.config = config;
+        this.path = path;
+        this.defaultValue = defaultValue;
+        this.reader = reader;
+        this.index = NEXT_INDEX.getAndIncrement();
+    }
+
+    public static ConfigKey<Boolean> bool(String path, boolean defaultValue) {
+        return bool("config.yml", path, defaultValue);
+    }
+
+    public static ConfigKey<Boolean> bool(String config, String path, boolean defaultValue) {
+        return new ConfigKey<>(config, path, defaultValue, FileConfiguration::getBoolean);
+    }
+
+    public static ConfigKey<Integer> integer(String path, int defaultValue) {
+        return integer("config.yml", path, defaultValue);
+    }
+
+    public static ConfigKey<Integer> integer(String config, String path, int defaultValue) {
+        return new ConfigKey<>(config, path, defaultValue, FileConfiguration::getInt);
+    }
+
+    public static ConfigKey<Long> longValue(String path, long defaultValue) {
+        return longValue("config.yml", path, defaultValue);
+    }
+
+    public static ConfigKey<Long> longValue(String config, String path, long defaultValue) {
+        return new ConfigKey<>(config, path, defaultValue, FileConfiguration::getLong);
+    }
+
+    public static ConfigKey<Double> doubleValue(String path, double defaultValue) {
+        return doubleValue("config.yml", path, defaultValue);
+    }
+
+    public static ConfigKey<Double> doubleValue(String config, String path, double defaultValue) {
+        return new ConfigKey<>(config, path, defaultValue, FileConfiguration::getDouble);
+    }
+
+    /**
+     * @apiNote {@code <prefix>} is substituted like in {@link Config#getValue(String, String, Object)}
+     */
+    public static ConfigKey<String> string(String path, String defaultValue) {
+        return string("config.yml", path, defaultValue);
+    }
+
+    public static ConfigKey<String> string(String config, String path, String defaultValue) {
+        return new ConfigKey<>(config, path, defaultValue, FileConfiguration::getString);
+    }
+
+    public static ConfigKey<List<String>> stringList(String path, List<String> defaultValue) {
+        return stringList("config.yml", path, defaultValue);
+    }
+
+    public static ConfigKey<List<String>> stringList(String config, String path, List<String> defaultValue) {
+        return new ConfigKey<>(config, path, List.copyOf(defaultValue), (configuration, p, def) ->
+            configuration.isList(p) ? List.copyOf(configuration.getStringList(p)) : def);
+    }
+
+    T read(FileConfiguration configuration) {
+        return reader.read(configuration, path, defaultValue);
+    }
+
+    static int count() {
+        return NEXT_INDEX.get();
+    }
+
+    @Override
+    public String toString() {
+        return config + ":" + path;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(FileConfiguration configuration, String path, T defaultValue);
+    }
+}
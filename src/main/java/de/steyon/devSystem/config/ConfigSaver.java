@@ -0,0 +1,124 @@
+package de.steyon.devSystem.config;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Write-behind saving for {@link Config}.
+ * <p>
+ * {@link #request(String)} only marks a config dirty; any number of requests before the
+ * background write runs collapse into one YAML dump. Files are written to a temp file next to
+ * the target, forced to disk and moved over the target, so a crash mid-write leaves either the
+ * old or the new file, never a truncated one.
+ */
+final class ConfigSaver {
+
+    private final Plugin plugin;
+    private final Config config;
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "DevSystem-ConfigSaver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    ConfigSaver(Plugin plugin, Config config) {
+        this.plugin = plugin;
+        this.config = config;
+    }
+
+    void request(String name) {
+        if (!dirty.add(name)) return;
+        try {
+            executor.execute(() -> save(name));
+        } catch (RejectedExecutionException e) {
+            // Shut down, possibly after its final flush, so nothing else would write this one
+            save(name);
+        }
+    }
+
+    /**
+     * Writes every pending config on the calling thread.
+     */
+    void flush() {
+        for (String name : dirty) {
+            save(name);
+        }
+    }
+
+    void shutdown() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void save(String name) {
+        if (!dirty.remove(name)) return;
+
+        FileConfiguration configuration = config.getConfig(name);
+        File file = config.getConfigFiles().get(name);
+        if (configuration == null || file == null) return;
+
+        String data;
+        synchronized (configuration) {
+            data = configuration.saveToString();
+        }
+
+        try {
+            write(file, data);
+            config.markSaved(name, file);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not save config: " + name, e);
+            plugin.getServer().getConsoleSender().sendMessage(config.getErrorMessage("config-save"));
+        }
+    }
+
+    /**
+     * Replaces {@code file} with {@code data} through a synced temp file and an atomic move.
+     */
+    static void write(File file, String data) throws IOException {
+        write(file, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void write(File file, byte[] data) throws IOException {
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
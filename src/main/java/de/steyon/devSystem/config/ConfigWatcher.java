@@ -0,0 +1,122 @@
+package de.steyon.devSystem.config;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Watches the data folder and reloads config files that were edited on disk.
+ * <p>
+ * Events for the same file are debounced, so an editor writing a file in several steps causes
+ * one reload. Parsing runs on the watcher thread; the result is published by
+ * {@link Config#publishConfig(String, FileConfiguration, boolean)} with a single snapshot swap.
+ */
+public final class ConfigWatcher {
+
+    public static final ConfigKey<Boolean> ENABLED = ConfigKey.bool("config-watcher.enabled", true);
+    public static final ConfigKey<Long> DEBOUNCE_MILLIS = ConfigKey.longValue("config-watcher.debounce-millis", 500L);
+
+    private final Plugin plugin;
+    private final Config config;
+    private final Map<String, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+    private ScheduledExecutorService executor;
+    private Thread thread;
+
+    public ConfigWatcher(Plugin plugin, Config config) {
+        this.plugin = plugin;
+        this.config = config;
+    }
+
+    public void start() {
+        if (thread != null) return;
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            plugin.getDataFolder().toPath().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not watch the config folder, hot reload is disabled", e);
+            return;
+        }
+
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread reloadThread = new Thread(runnable, "DevSystem-ConfigReload");
+            reloadThread.setDaemon(true);
+            return reloadThread;
+        });
+        thread = new Thread(this::run, "DevSystem-ConfigWatcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        if (thread == null) return;
+
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        executor.shutdownNow();
+        pending.clear();
+        thread = null;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.context() instanceof Path path) {
+                        schedule(path.getFileName().toString());
+                    }
+                }
+                if (!key.reset()) return;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+        }
+    }
+
+    private void schedule(String name) {
+        if (executor.isShutdown() || !config.getConfigFiles().containsKey(name)) return;
+
+        long delay = config.get(DEBOUNCE_MILLIS);
+        pending.compute(name, (file, previous) -> {
+            if (previous != null) previous.cancel(false);
+            return executor.schedule(() -> reload(file), delay, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void reload(String name) {
+        pending.remove(name);
+        if (!config.isModifiedOnDisk(name)) return;
+
+        try {
+            FileConfiguration parsed = config.parseConfigStrict(name);
+            if (parsed != null) {
+                config.publishConfig(name, parsed, true);
+            }
+        } catch (InvalidConfigurationException e) {
+            plugin.getLogger().warning("Ignoring invalid edit of " + name + ": " + e.getMessage());
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Could not reload " + name + " after it changed on disk", e);
+        }
+    }
+}
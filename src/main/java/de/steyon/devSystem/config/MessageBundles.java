@@ -0,0 +1,187 @@
+package de.steyon.devSystem.config;
+
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locale message bundles, {@code lang/messages_<locale>.yml} in the data folder.
+ * <p>
+ * A bundle mirrors the paths of config.yml and is loaded off the main thread when a player joins
+ * or changes their locale, or the first time a message is requested for a locale that is not
+ * loaded yet. Until then messages fall back to config.yml, so the main thread never reads bundle
+ * files. Each bundle compiles its own templates on demand. Only the most recently used bundles
+ * stay loaded, so configuring many locales does not grow memory.
+ */
+final class MessageBundles implements Listener {
+
+    static final ConfigKey<String> DEFAULT_LOCALE = ConfigKey.string("locales.default", "en");
+    static final ConfigKey<Integer> MAX_LOADED = ConfigKey.integer("locales.max-loaded", 4);
+
+    private final Plugin plugin;
+    private final Config config;
+    private final ConfigCache cache;
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+    private final Map<String, Bundle> loaded = new LinkedHashMap<>(8, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Bundle> eldest) {
+            return size() > Math.max(1, config.get(MAX_LOADED));
+        }
+    };
+
+    MessageBundles(Plugin plugin, Config config, ConfigCache cache) {
+        this.plugin = plugin;
+        this.config = config;
+        this.cache = cache;
+    }
+
+    /**
+     * @return the template of the most specific bundle defining {@code path}, falling back from
+     * {@code de_de} to {@code de} to the default locale, or null if no bundle defines it
+     */
+    MessageTemplate find(Locale locale, String path) {
+        for (String name : candidates(locale)) {
+            MessageTemplate template = find(name, path);
+            if (template != null) return template;
+        }
+        return null;
+    }
+
+    /**
+     * @param localeKey a key from {@link Config#localeKey}, empty for senders without a locale
+     * @return whether receivers with this key may get messages from the bundle
+     */
+    boolean appliesTo(String bundle, String localeKey) {
+        if (localeKey.isEmpty()) return false;
+        return bundle.equals(config.get(DEFAULT_LOCALE).toLowerCase(Locale.ROOT))
+            || localeKey.equals(bundle) || localeKey.startsWith(bundle + "_");
+    }
+
+    /**
+     * @return the bundle names for the locale, most specific first, ending with the default locale
+     */
+    private String[] candidates(Locale locale) {
+        String language = locale.getLanguage().toLowerCase(Locale.ROOT);
+        String country = locale.getCountry().toLowerCase(Locale.ROOT);
+        String defaultLocale = config.get(DEFAULT_LOCALE).toLowerCase(Locale.ROOT);
+
+        List<String> names = new ArrayList<>(3);
+        if (!language.isEmpty() && !country.isEmpty()) names.add(language + "_" + country);
+        if (!language.isEmpty()) names.add(language);
+        if (!names.contains(defaultLocale)) names.add(defaultLocale);
+        return names.toArray(String[]::new);
+    }
+
+    private MessageTemplate find(String name, String path) {
+        if (missing.contains(name)) return null;
+
+        Bundle bundle;
+        synchronized (loaded) {
+            bundle = loaded.get(name);
+        }
+        if (bundle == null) {
+            load(name);
+            return null;
+        }
+        return bundle.template(path);
+    }
+
+    /**
+     * Loads the bundles a player with this locale needs, unless they are loaded or known to be missing.
+     */
+    void preload(Locale locale) {
+        for (String name : candidates(locale)) {
+            if (missing.contains(name)) continue;
+            synchronized (loaded) {
+                if (loaded.containsKey(name)) continue;
+            }
+            load(name);
+        }
+    }
+
+    private void load(String name) {
+        if (!loading.add(name)) return;
+
+        plugin.getServer().getAsyncScheduler().runNow(plugin, task -> {
+            try {
+                File file = new File(new File(plugin.getDataFolder(), "lang"), "messages_" + name + ".yml");
+                if (!file.isFile()) {
+                    missing.add(name);
+                    return;
+                }
+
+                Bundle bundle;
+                try {
+                    bundle = new Bundle(cache.load(file, false).config());
+                } catch (Exception e) {
+                    plugin.getLogger().warning("Could not load message bundle " + file.getName() + ": " + e.getMessage());
+                    missing.add(name);
+                    return;
+                }
+
+                synchronized (loaded) {
+                    loaded.put(name, bundle);
+                }
+                config.bundleLoaded(name);
+            } finally {
+                loading.remove(name);
+            }
+        });
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        preload(event.getPlayer().locale());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLocaleChange(PlayerLocaleChangeEvent event) {
+        preload(event.locale());
+    }
+
+    void clear() {
+        synchronized (loaded) {
+            loaded.clear();
+        }
+        missing.clear();
+    }
+
+    private final class Bundle {
+
+        private final FileConfiguration messages;
+        private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+
+        private Bundle(FileConfiguration messages) {
+            this.messages = messages;
+        }
+
+        private MessageTemplate template(String path) {
+            MessageTemplate template = templates.get(path);
+            if (template != null) return template;
+
+            String source = messages.getString(path);
+            if (source == null) return null;
+
+            String prefix = messages.getString("messages.prefix");
+            template = MessageTemplate.compile(MiniMessage.miniMessage(),
+                source.replace("<prefix>", prefix != null ? prefix : config.getPrefix()));
+            templates.put(path, template);
+            return template;
+        }
+    }
+}
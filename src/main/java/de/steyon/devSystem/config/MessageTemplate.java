@@ -0,0 +1,193 @@
+package de.steyon.devSystem.config;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A MiniMessage template parsed once.
+ * <p>
+ * {@code {key}} placeholders are compiled into marker components, so rendering only walks
+ * the parsed tree and swaps the markers for the arguments instead of running MiniMessage again.
+ * Arguments are inserted as typed values: components keep their formatting, everything else is
+ * inserted as plain text and never parsed as MiniMessage.
+ */
+public final class MessageTemplate {
+
+    private static final String TAG_NAME = "devsystem_placeholder";
+    private static final String MARKER = "devsystem.placeholder.";
+    // Tags that color their content per character and only see the text present while parsing
+    private static final Set<String> COLOR_CHANGING_TAGS = Set.of("gradient", "rainbow", "transition", "pride");
+
+    private static final TagResolver PLACEHOLDER_RESOLVER = TagResolver.resolver(TAG_NAME,
+        (arguments, context) -> Tag.selfClosingInserting(
+            Component.translatable(MARKER + arguments.popOr("placeholder key expected").value())));
+
+    private final MiniMessage miniMessage;
+    private final String source;
+    private final Component compiled;
+    private final boolean placeholders;
+    private final boolean dynamic;
+
+    private MessageTemplate(MiniMessage miniMessage, String source, Component compiled, boolean placeholders, boolean dynamic) {
+        this.miniMessage = miniMessage;
+        this.source = source;
+        this.compiled = compiled;
+        this.placeholders = placeholders;
+        this.dynamic = dynamic;
+    }
+
+    /**
+     * @param miniMessage the parser used for the template
+     * @param source the raw template, {@code <prefix>} already substituted
+     * @return the compiled template
+     * @apiNote Placeholders inside tag arguments, e.g. {@code <click:run_command:/pm {plugin}>}, and inside
+     * color-changing tags such as {@code <gradient>} cannot be pre-parsed; such templates fall back to
+     * substituting and parsing on every render.
+     */
+    public static MessageTemplate compile(MiniMessage miniMessage, String source) {
+        StringBuilder converted = new StringBuilder(source.length() + 32);
+        boolean placeholders = false;
+        boolean inTag = false;
+        int colorChanging = 0;
+
+        for (int i = 0; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '<' && !inTag) {
+                inTag = true;
+                colorChanging = Math.max(0, colorChanging + colorChangingDepth(source, i + 1));
+            } else if (c == '>') {
+                inTag = false;
+            }
+
+            if (c == '{') {
+                int end = placeholderEnd(source, i);
+                if (end > 0) {
+                    if (inTag || colorChanging > 0) {
+                        return new MessageTemplate(miniMessage, source, null, true, true);
+                    }
+                    converted.append('<').append(TAG_NAME).append(':').append(source, i + 1, end).append('>');
+                    placeholders = true;
+                    i = end;
+                    continue;
+                }
+            }
+            converted.append(c);
+        }
+
+        Component compiled = placeholders
+            ? miniMessage.deserialize(converted.toString(), PLACEHOLDER_RESOLVER)
+            : miniMessage.deserialize(source);
+        return new MessageTemplate(miniMessage, source, compiled, placeholders, false);
+    }
+
+    /**
+     * @return 1 if the tag starting at {@code start} opens a color-changing tag, -1 if it closes one, else 0
+     */
+    private static int colorChangingDepth(String source, int start) {
+        int end = start;
+        while (end < source.length() && source.charAt(end) != '>' && source.charAt(end) != ':') end++;
+        String name = source.substring(start, end).toLowerCase(Locale.ROOT);
+        if (name.startsWith("/")) return COLOR_CHANGING_TAGS.contains(name.substring(1)) ? -1 : 0;
+        return COLOR_CHANGING_TAGS.contains(name) ? 1 : 0;
+    }
+
+    private static int placeholderEnd(String source, int start) {
+        for (int i = start + 1; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '}') return i > start + 1 ? i : -1;
+            if (!(Character.isLetterOrDigit(c) || c == '_' || c == '-')) return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the template without any arguments
+     */
+    public Component render() {
+        return dynamic ? miniMessage.deserialize(source) : compiled;
+    }
+
+    /**
+     * @param arguments alternating placeholder keys and values; {@link ComponentLike} values are inserted
+     *                  as components, anything else as plain text
+     * @return the rendered component
+     */
+    public Component render(Object... arguments) {
+        if (arguments.length % 2 != 0) {
+            throw new IllegalArgumentException("Placeholder arguments must be key/value pairs");
+        }
+        if (!placeholders) return render();
+
+        if (dynamic) {
+            String message = source;
+            for (int i = 0; i < arguments.length; i += 2) {
+                Object value = arguments[i + 1];
+                String text = value instanceof ComponentLike like
+                    ? miniMessage.serialize(like.asComponent())
+                    : miniMessage.escapeTags(String.valueOf(value));
+                message = message.replace("{" + arguments[i] + "}", text);
+            }
+            return miniMessage.deserialize(message);
+        }
+
+        Map<String, Component> values = new HashMap<>(arguments.length);
+        for (int i = 0; i < arguments.length; i += 2) {
+            Object value = arguments[i + 1];
+            values.put(String.valueOf(arguments[i]), value instanceof ComponentLike like
+                ? like.asComponent()
+                : Component.text(String.valueOf(value)));
+        }
+        return replace(compiled, values);
+    }
+
+    private static Component replace(Component component, Map<String, Component> values) {
+        if (component instanceof TranslatableComponent translatable && translatable.key().startsWith(MARKER)) {
+            String key = translatable.key().substring(MARKER.length());
+            Component value = values.get(key);
+            if (value == null) value = Component.text("{" + key + "}");
+            return value.applyFallbackStyle(translatable.style());
+        }
+
+        List<Component> children = component.children();
+        List<Component> replaced = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component result = replace(child, values);
+            if (result != child) {
+                if (replaced == null) replaced = new ArrayList<>(children);
+                replaced.set(i, result);
+            }
+        }
+        return replaced == null ? component : component.children(replaced);
+    }
+
+    /**
+     * @param separator the rendered separator, e.g. a list-separator template
+     * @param values the values, inserted as plain text
+     * @return the values joined into one component
+     */
+    public static Component join(Component separator, Collection<?> values) {
+        List<Component> parts = new ArrayList<>(values.size());
+        for (Object value : values) {
+            parts.add(value instanceof ComponentLike like ? like.asComponent() : Component.text(String.valueOf(value)));
+        }
+        return Component.join(JoinConfiguration.separator(separator), parts);
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,131 @@
+package de.steyon.devSystem.pluginmanager;
+
+import de.steyon.devSystem.DevSystem;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Scans plugin data folders off the main thread.
+ * <p>
+ * One {@link Files#walkFileTree} pass collects size, file count and the largest files together.
+ * Results are cached per plugin for {@link PluginManagerSettings#DATA_SCAN_TTL_SECONDS}, or until
+ * {@link #invalidate} if the TTL is 0, and concurrent requests for the same plugin share one scan.
+ */
+public class DataFolderScanner {
+
+    private static final int LARGEST_ENTRIES = 5;
+
+    private final DevSystem plugin;
+    private final Executor executor;
+    private final Map<String, CompletableFuture<Scan>> scans = new ConcurrentHashMap<>();
+
+    public DataFolderScanner(DevSystem plugin) {
+        this.plugin = plugin;
+        this.executor = task -> plugin.getServer().getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+    }
+
+    /**
+     * @param path a file in the data folder, relative to it
+     * @param size the file size in bytes
+     */
+    public record Entry(String path, long size) {
+    }
+
+    /**
+     * @param sizeBytes the total size of all files
+     * @param fileCount the number of regular files
+     * @param largest the largest files, biggest first
+     * @param scannedAt when the scan finished, in epoch millis
+     */
+    public record Scan(long sizeBytes, int fileCount, List<Entry> largest, long scannedAt) {
+
+        static final Scan EMPTY = new Scan(0L, 0, List.of(), 0L);
+    }
+
+    /**
+     * @return the cached scan if it is still fresh, otherwise null; a stale or missing scan is started
+     */
+    public Scan getCached(Plugin target) {
+        CompletableFuture<Scan> future = scan(target);
+        return future.isDone() && !future.isCompletedExceptionally() ? future.getNow(null) : null;
+    }
+
+    /**
+     * @return the running or fresh scan of the plugin's data folder, starting a new one if needed
+     */
+    public CompletableFuture<Scan> scan(Plugin target) {
+        String key = target.getName().toLowerCase(Locale.ROOT);
+        long ttl = plugin.getConfigManager().get(PluginManagerSettings.DATA_SCAN_TTL_SECONDS) * 1000L;
+
+        return scans.compute(key, (ignored, existing) -> {
+            if (existing != null && (!existing.isDone() || isFresh(existing, ttl))) return existing;
+
+            File folder = target.getDataFolder();
+            return CompletableFuture.supplyAsync(() -> walk(folder), executor);
+        });
+    }
+
+    private static boolean isFresh(CompletableFuture<Scan> future, long ttl) {
+        if (future.isCompletedExceptionally()) return false;
+        if (ttl <= 0) return true;
+        return System.currentTimeMillis() - future.getNow(Scan.EMPTY).scannedAt() < ttl;
+    }
+
+    public void invalidate(Plugin target) {
+        scans.remove(target.getName().toLowerCase(Locale.ROOT));
+    }
+
+    private static Scan walk(File folder) {
+        if (folder == null || !folder.isDirectory()) {
+            return new Scan(0L, 0, List.of(), System.currentTimeMillis());
+        }
+
+        Path root = folder.toPath();
+        long[] size = {0L};
+        int[] count = {0};
+        PriorityQueue<Entry> largest = new PriorityQueue<>(Comparator.comparingLong(Entry::size));
+
+        try {
+            Files.walkFileTree(root, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                    if (!attributes.isRegularFile()) return FileVisitResult.CONTINUE;
+
+                    size[0] += attributes.size();
+                    count[0]++;
+                    if (largest.size() < LARGEST_ENTRIES || attributes.size() > largest.peek().size()) {
+                        largest.add(new Entry(root.relativize(file).toString(), attributes.size()));
+                        if (largest.size() > LARGEST_ENTRIES) largest.poll();
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exception) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException ignored) {
+        }
+
+        List<Entry> entries = new ArrayList<>(largest);
+        entries.sort(Comparator.comparingLong(Entry::size).reversed());
+        return new Scan(size[0], count[0], List.copyOf(entries), System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,226 @@
+package de.steyon.devSystem.pluginmanager;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Dependency graph of the registered plugins with forward and reverse adjacency.
+ * <p>
+ * An edge points from a plugin to each plugin it depends or soft-depends on; {@code loadbefore}
+ * entries are added as reverse edges. Nodes are lowercased names, and {@code provides} aliases
+ * resolve to the providing plugin, so edges can be added before their target is loaded.
+ * Plugins are added as they load or change state, and every query only walks the edges it needs.
+ * An edge can be declared by both of its ends, so edges are reference counted and re-adding one
+ * plugin only drops the references that plugin contributed.
+ */
+public class DependencyGraph {
+
+    private final PluginIndex index;
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    private final Map<String, Set<String>> declared = new HashMap<>();
+    private final Map<String, Set<String>> loadBefore = new HashMap<>();
+    private final Map<Edge, Integer> references = new HashMap<>();
+
+    public DependencyGraph(PluginIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Adds the plugin, replacing the edges from a previous version of it.
+     */
+    public synchronized void add(Plugin plugin) {
+        String node = key(plugin.getName());
+        removeEdges(node);
+
+        PluginDescriptionFile description = plugin.getDescription();
+        Set<String> targets = new LinkedHashSet<>();
+        for (String dependency : description.getDepend()) targets.add(key(dependency));
+        for (String dependency : description.getSoftDepend()) targets.add(key(dependency));
+        for (String target : targets) {
+            link(node, target);
+        }
+        declared.put(node, targets);
+
+        Set<String> before = new LinkedHashSet<>();
+        for (String target : description.getLoadBefore()) {
+            before.add(key(target));
+            link(key(target), node);
+        }
+        loadBefore.put(node, before);
+    }
+
+    public synchronized void remove(Plugin plugin) {
+        removeEdges(key(plugin.getName()));
+    }
+
+    private record Edge(String from, String to) {
+    }
+
+    private void link(String from, String to) {
+        if (references.merge(new Edge(from, to), 1, Integer::sum) > 1) return;
+        dependencies.computeIfAbsent(from, ignored -> new LinkedHashSet<>()).add(to);
+        dependents.computeIfAbsent(to, ignored -> new LinkedHashSet<>()).add(from);
+    }
+
+    /**
+     * Drops one reference to the edge and removes the edge once nothing declares it anymore.
+     */
+    private void unlink(String from, String to) {
+        Edge edge = new Edge(from, to);
+        Integer count = references.get(edge);
+        if (count == null) return;
+        if (count > 1) {
+            references.put(edge, count - 1);
+            return;
+        }
+        references.remove(edge);
+
+        Set<String> forward = dependencies.get(from);
+        if (forward != null && forward.remove(to) && forward.isEmpty()) dependencies.remove(from);
+        Set<String> reverse = dependents.get(to);
+        if (reverse != null && reverse.remove(from) && reverse.isEmpty()) dependents.remove(to);
+    }
+
+    /**
+     * Removes the edges the node declared itself; edges other plugins declared through
+     * {@code loadbefore} stay in place.
+     */
+    private void removeEdges(String node) {
+        Set<String> targets = declared.remove(node);
+        if (targets != null) {
+            for (String target : targets) unlink(node, target);
+        }
+        Set<String> before = loadBefore.remove(node);
+        if (before != null) {
+            for (String target : before) unlink(target, node);
+        }
+    }
+
+    /**
+     * @return the registered plugins that depend or soft-depend directly on {@code target}
+     */
+    public synchronized List<Plugin> getDependents(Plugin target) {
+        List<Plugin> result = new ArrayList<>();
+        for (String node : dependentNodes(target)) {
+            Plugin plugin = index.get(node);
+            if (plugin != null && plugin != target && !result.contains(plugin)) result.add(plugin);
+        }
+        return result;
+    }
+
+    /**
+     * @return the registered plugins that {@code target} depends or soft-depends on directly
+     */
+    public synchronized List<Plugin> getDependencies(Plugin target) {
+        List<Plugin> result = new ArrayList<>();
+        for (String node : dependencies.getOrDefault(key(target.getName()), Set.of())) {
+            Plugin plugin = index.get(node);
+            if (plugin != null && plugin != target && !result.contains(plugin)) result.add(plugin);
+        }
+        return result;
+    }
+
+    /**
+     * @return every plugin depending on {@code target} directly or through other plugins,
+     * in enable order: each plugin comes after all of its dependencies
+     */
+    public synchronized List<Plugin> getTransitiveDependents(Plugin target) {
+        Set<Plugin> closure = new LinkedHashSet<>();
+        Deque<Plugin> queue = new ArrayDeque<>();
+        queue.add(target);
+        while (!queue.isEmpty()) {
+            for (Plugin dependent : getDependents(queue.poll())) {
+                if (dependent != target && closure.add(dependent)) queue.add(dependent);
+            }
+        }
+        return topologicalOrder(closure);
+    }
+
+    /**
+     * Orders the plugins so that every plugin comes after the plugins it depends on. Plugins on a
+     * dependency cycle cannot be ordered and are appended in their given order.
+     */
+    public synchronized List<Plugin> topologicalOrder(Collection<Plugin> plugins) {
+        Map<Plugin, Integer> inDegree = new HashMap<>();
+        for (Plugin plugin : plugins) inDegree.put(plugin, 0);
+        for (Plugin plugin : plugins) {
+            for (Plugin dependency : getDependencies(plugin)) {
+                if (inDegree.containsKey(dependency)) inDegree.merge(plugin, 1, Integer::sum);
+            }
+        }
+
+        List<Plugin> order = new ArrayList<>(plugins.size());
+        Deque<Plugin> ready = new ArrayDeque<>();
+        for (Plugin plugin : plugins) {
+            if (inDegree.get(plugin) == 0) ready.add(plugin);
+        }
+        while (!ready.isEmpty()) {
+            Plugin plugin = ready.poll();
+            order.add(plugin);
+            for (Plugin dependent : getDependents(plugin)) {
+                Integer degree = inDegree.get(dependent);
+                if (degree == null) continue;
+                inDegree.put(dependent, degree - 1);
+                if (degree == 1) ready.add(dependent);
+            }
+        }
+
+        for (Plugin plugin : plugins) {
+            if (!order.contains(plugin)) order.add(plugin);
+        }
+        return order;
+    }
+
+    /**
+     * @return the names along a dependency cycle through {@code target}, starting and ending with it,
+     * or an empty list if {@code target} is not on a cycle
+     */
+    public synchronized List<String> findCycle(Plugin target) {
+        String start = key(target.getName());
+        Deque<String> path = new ArrayDeque<>();
+        path.add(start);
+        return findCycle(start, start, path, new HashSet<>()) ? new ArrayList<>(path) : List.of();
+    }
+
+    private boolean findCycle(String start, String node, Deque<String> path, Set<String> visited) {
+        for (String next : dependencies.getOrDefault(node, Set.of())) {
+            Plugin plugin = index.get(next);
+            String resolved = plugin != null ? key(plugin.getName()) : next;
+            if (resolved.equals(start)) {
+                path.add(start);
+                return true;
+            }
+            if (!visited.add(resolved)) continue;
+
+            path.add(resolved);
+            if (findCycle(start, resolved, path, visited)) return true;
+            path.removeLast();
+        }
+        return false;
+    }
+
+    private Set<String> dependentNodes(Plugin target) {
+        Set<String> nodes = new LinkedHashSet<>(dependents.getOrDefault(key(target.getName()), Set.of()));
+        for (String alias : target.getDescription().getProvides()) {
+            nodes.addAll(dependents.getOrDefault(key(alias), Set.of()));
+        }
+        return nodes;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,210 @@
+package de.steyon.devSystem.pluginmanager;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginDescriptionFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32C;
+
+/**
+ * Caches what DevSystem reads from plugin jars.
+ * <p>
+ * Entries are keyed by canonical path and revalidated against size and mtime, so a jar is opened
+ * and its {@code plugin.yml} parsed at most once per change. The jar of a loaded plugin is looked
+ * up once per plugin instance. Hashing reads the whole jar, so it is only done on request and off
+ * the calling thread. The packages of a jar are listed from its entries on first request, without
+ * loading any of its classes.
+ */
+public class JarInfoCache {
+
+    private final Executor hashExecutor;
+    private final Map<String, JarInfo> byPath = new ConcurrentHashMap<>();
+    private final Map<JarInfo, CompletableFuture<String>> hashes = new ConcurrentHashMap<>();
+    private final Map<JarInfo, Set<String>> packages = new ConcurrentHashMap<>();
+    private final Map<Plugin, String> pluginJars = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @param hashExecutor runs the jar hashing, e.g. the async scheduler
+     */
+    public JarInfoCache(Executor hashExecutor) {
+        this.hashExecutor = hashExecutor;
+    }
+
+    /**
+     * @param file the jar file
+     * @param size the size in bytes
+     * @param modified the mtime in epoch millis
+     * @param entryCount the number of entries in the jar
+     * @param description the parsed {@code plugin.yml}, or null if the jar has none or it is invalid
+     */
+    public record JarInfo(File file, long size, long modified, int entryCount, PluginDescriptionFile description) {
+
+        public String name() {
+            return description != null ? description.getName() : null;
+        }
+
+        public List<String> depend() {
+            return description != null ? description.getDepend() : List.of();
+        }
+    }
+
+    /**
+     * @return the jar's metadata, or null if the file cannot be read as a jar
+     */
+    public JarInfo get(File jar) {
+        if (jar == null) return null;
+
+        String key;
+        BasicFileAttributes attributes;
+        try {
+            key = jar.getCanonicalPath();
+            attributes = Files.readAttributes(jar.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+            return null;
+        }
+        if (!attributes.isRegularFile()) return null;
+
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        JarInfo cached = byPath.get(key);
+        if (cached != null && cached.size() == size && cached.modified() == modified) {
+            return cached;
+        }
+
+        JarInfo info = read(new File(key), size, modified);
+        if (cached != null) {
+            hashes.remove(cached);
+            packages.remove(cached);
+        }
+        if (info != null) {
+            byPath.put(key, info);
+        } else {
+            byPath.remove(key);
+        }
+        return info;
+    }
+
+    /**
+     * @return the CRC32C of the jar as hex, computed once per jar version on the hash executor
+     */
+    public CompletableFuture<String> hash(JarInfo info) {
+        return hashes.computeIfAbsent(info, ignored -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return crc(info.file());
+            } catch (IOException e) {
+                hashes.remove(info);
+                throw new CompletionException(e);
+            }
+        }, hashExecutor));
+    }
+
+    /**
+     * @return the dotted names of the packages holding classes in the jar, or an empty set if it
+     * cannot be read
+     */
+    public Set<String> packages(JarInfo info) {
+        Set<String> cached = packages.get(info);
+        if (cached != null) return cached;
+
+        Set<String> names = new HashSet<>();
+        try (JarFile jar = new JarFile(info.file())) {
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                int slash = name.lastIndexOf('/');
+                if (slash <= 0 || !name.endsWith(".class") || name.startsWith("META-INF/")) continue;
+                names.add(name.substring(0, slash).replace('/', '.'));
+            }
+        } catch (IOException e) {
+            return Set.of();
+        }
+        Set<String> result = Set.copyOf(names);
+        packages.put(info, result);
+        return result;
+    }
+
+    /**
+     * @return the packages of a loaded plugin's jar, or an empty set if its code source is not a file
+     */
+    public Set<String> packages(Plugin plugin) {
+        JarInfo info = get(plugin);
+        return info != null ? packages(info) : Set.of();
+    }
+
+    /**
+     * @return the jar of a loaded plugin, or null if its code source is not a file
+     */
+    public JarInfo get(Plugin plugin) {
+        String path = getJarPath(plugin);
+        return path != null ? get(new File(path)) : null;
+    }
+
+    /**
+     * @return the decoded path of the plugin's code source, or null if it is unknown
+     */
+    public String getJarPath(Plugin plugin) {
+        String path = pluginJars.get(plugin);
+        if (path != null) return path;
+
+        try {
+            URL url = plugin.getClass().getProtectionDomain().getCodeSource().getLocation();
+            if (url == null) return null;
+            path = URLDecoder.decode(url.getPath(), StandardCharsets.UTF_8);
+        } catch (Throwable t) {
+            return null;
+        }
+        pluginJars.put(plugin, path);
+        return path;
+    }
+
+    private static JarInfo read(File file, long size, long modified) {
+        PluginDescriptionFile description = null;
+        int entryCount;
+        try (JarFile jar = new JarFile(file)) {
+            entryCount = jar.size();
+            JarEntry entry = jar.getJarEntry("plugin.yml");
+            if (entry != null) {
+                try (InputStream in = jar.getInputStream(entry)) {
+                    description = new PluginDescriptionFile(in);
+                } catch (Exception ignored) {
+                }
+            }
+        } catch (IOException e) {
+            return null;
+        }
+
+        return new JarInfo(file, size, modified, entryCount, description);
+    }
+
+    private static String crc(File file) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return Long.toHexString(crc.getValue());
+    }
+}
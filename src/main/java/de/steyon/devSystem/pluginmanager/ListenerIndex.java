@@ -0,0 +1,139 @@
+package de.steyon.devSystem.pluginmanager;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Registered listeners grouped by plugin, built in one pass over all handler lists.
+ * <p>
+ * The index is rebuilt lazily after {@link #invalidate()}, which is called on plugin enable and
+ * disable and when the listener profiler swaps handlers; queries in between do not touch the
+ * handler lists. Handlers a plugin registers later at runtime show up after the next
+ * invalidation. Handler lists do not know their event type, so it is resolved once per
+ * listener class from its {@link EventHandler} methods.
+ */
+public class ListenerIndex {
+
+    private final Map<Class<?>, Boolean> resolvedListeners = new WeakHashMap<>();
+    private final Map<HandlerList, String> eventNames = new IdentityHashMap<>();
+    private Map<Plugin, List<ListenerInfo>> byPlugin = Map.of();
+    private boolean dirty = true;
+
+    /**
+     * @param event the simple name of the event class, or {@code unknown}
+     * @param priority the handler priority
+     * @param listenerClass the simple name of the listener class
+     * @param ignoreCancelled whether the handler skips cancelled events
+     */
+    public record ListenerInfo(String event, EventPriority priority, String listenerClass, boolean ignoreCancelled) {
+    }
+
+    public synchronized void invalidate() {
+        dirty = true;
+    }
+
+    /**
+     * @return the plugin's registered handlers
+     */
+    public synchronized List<ListenerInfo> getListeners(Plugin plugin) {
+        refresh();
+        return byPlugin.getOrDefault(plugin, List.of());
+    }
+
+    /**
+     * @return the plugin's handlers grouped by event name, in registration order
+     */
+    public Map<String, List<ListenerInfo>> getListenersByEvent(Plugin plugin) {
+        Map<String, List<ListenerInfo>> grouped = new LinkedHashMap<>();
+        for (ListenerInfo info : getListeners(plugin)) {
+            grouped.computeIfAbsent(info.event(), ignored -> new ArrayList<>()).add(info);
+        }
+        return grouped;
+    }
+
+    /**
+     * @return the number of handlers each plugin registered for the event, by event simple name
+     */
+    public synchronized Map<Plugin, Integer> countByPlugin(String event) {
+        refresh();
+        Map<Plugin, Integer> counts = new HashMap<>();
+        byPlugin.forEach((plugin, listeners) -> {
+            int count = 0;
+            for (ListenerInfo info : listeners) {
+                if (info.event().equalsIgnoreCase(event)) count++;
+            }
+            if (count > 0) counts.put(plugin, count);
+        });
+        return counts;
+    }
+
+    private void refresh() {
+        if (!dirty) return;
+
+        Map<Plugin, List<ListenerInfo>> rebuilt = new HashMap<>();
+        for (HandlerList list : HandlerList.getHandlerLists()) {
+            RegisteredListener[] registered = list.getRegisteredListeners();
+            for (RegisteredListener listener : registered) {
+                resolveEventTypes(listener.getListener());
+            }
+            String event = eventNames.getOrDefault(list, "unknown");
+            for (RegisteredListener listener : registered) {
+                rebuilt.computeIfAbsent(listener.getPlugin(), ignored -> new ArrayList<>()).add(new ListenerInfo(event,
+                    listener.getPriority(), listener.getListener().getClass().getSimpleName(), listener.isIgnoringCancelled()));
+            }
+        }
+        rebuilt.replaceAll((plugin, listeners) -> List.copyOf(listeners));
+
+        byPlugin = Collections.unmodifiableMap(rebuilt);
+        dirty = false;
+    }
+
+    private void resolveEventTypes(Listener listener) {
+        resolvedListeners.computeIfAbsent(listener.getClass(), type -> {
+            try {
+                for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                    for (Method method : current.getDeclaredMethods()) {
+                        if (!method.isAnnotationPresent(EventHandler.class) || method.getParameterCount() != 1) continue;
+                        Class<?> eventType = method.getParameterTypes()[0];
+                        if (!Event.class.isAssignableFrom(eventType)) continue;
+
+                        HandlerList handlers = handlerListOf(eventType);
+                        if (handlers != null) eventNames.putIfAbsent(handlers, eventType.getSimpleName());
+                    }
+                }
+            } catch (Throwable ignored) {
+                // Listener classes referencing missing classes cannot be inspected
+            }
+            return Boolean.TRUE;
+        });
+    }
+
+    private static HandlerList handlerListOf(Class<?> eventType) {
+        for (Class<?> type = eventType; type != null && Event.class.isAssignableFrom(type); type = type.getSuperclass()) {
+            try {
+                Method getter = type.getDeclaredMethod("getHandlerList");
+                getter.setAccessible(true);
+                return (HandlerList) getter.invoke(null);
+            } catch (NoSuchMethodException ignored) {
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,101 @@
+package de.steyon.devSystem.pluginmanager;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Case-insensitive index of the registered plugins by name and by {@code provides} alias.
+ * <p>
+ * Names are kept sorted, so tab completion reads a prefix range instead of filtering every plugin.
+ * Entries are added when a plugin is loaded or changes state; lookups verify against the plugin
+ * manager, so plugins unloaded behind DevSystem's back are dropped on access.
+ */
+public class PluginIndex {
+
+    private final PluginManager pluginManager;
+    private final ConcurrentSkipListMap<String, Plugin> byName = new ConcurrentSkipListMap<>();
+    private final Map<String, Plugin> byAlias = new ConcurrentHashMap<>();
+
+    public PluginIndex(PluginManager pluginManager) {
+        this.pluginManager = pluginManager;
+        rebuild();
+    }
+
+    public void rebuild() {
+        byName.clear();
+        byAlias.clear();
+        for (Plugin plugin : pluginManager.getPlugins()) {
+            add(plugin);
+        }
+    }
+
+    public void add(Plugin plugin) {
+        byName.put(key(plugin.getName()), plugin);
+        for (String alias : plugin.getDescription().getProvides()) {
+            byAlias.putIfAbsent(key(alias), plugin);
+        }
+    }
+
+    public void remove(Plugin plugin) {
+        byName.remove(key(plugin.getName()), plugin);
+        byAlias.values().removeIf(indexed -> indexed == plugin);
+    }
+
+    /**
+     * @param name a plugin name or {@code provides} alias, in any case
+     * @return the plugin, or null if none is registered under that name
+     */
+    public Plugin get(String name) {
+        if (name == null) return null;
+
+        String key = key(name);
+        Plugin plugin = byName.get(key);
+        if (plugin == null) plugin = byAlias.get(key);
+
+        if (plugin != null) {
+            if (isRegistered(plugin)) return plugin;
+            remove(plugin);
+        }
+
+        plugin = pluginManager.getPlugin(name);
+        if (plugin != null) add(plugin);
+        return plugin;
+    }
+
+    public boolean contains(String name) {
+        return get(name) != null;
+    }
+
+    /**
+     * @param prefix the typed prefix, in any case
+     * @return the registered plugins whose name starts with the prefix, sorted by name
+     */
+    public List<Plugin> complete(String prefix) {
+        String key = key(prefix);
+        NavigableMap<String, Plugin> range = key.isEmpty()
+            ? byName
+            : byName.subMap(key, true, key + Character.MAX_VALUE, false);
+
+        List<Plugin> plugins = new ArrayList<>(range.size());
+        for (Plugin plugin : range.values()) {
+            if (isRegistered(plugin)) plugins.add(plugin);
+        }
+        return plugins;
+    }
+
+    private boolean isRegistered(Plugin plugin) {
+        return pluginManager.getPlugin(plugin.getName()) == plugin;
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
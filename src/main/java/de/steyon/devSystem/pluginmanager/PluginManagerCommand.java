@@ -1,6 +1,7 @@
 package de.steyon.devSystem.pluginmanager;
 
 import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
 import de.steyon.devSystem.pluginmanager.commands.DisableCommand;
 import de.steyon.devSystem.pluginmanager.commands.EnableCommand;
 import de.steyon.devSystem.pluginmanager.commands.InfoCommand;
@@ -12,9 +13,12 @@ import de.steyon.devSystem.pluginmanager.commands.TasksCommand;
 import de.steyon.devSystem.pluginmanager.commands.FilesCommand;
 import de.steyon.devSystem.pluginmanager.commands.ListenersCommand;
 import de.steyon.devSystem.pluginmanager.commands.DepsCommand;
+import de.steyon.devSystem.pluginmanager.commands.ProfileCommand;
+import de.steyon.devSystem.pluginmanager.commands.TpsCommand;
+import de.steyon.devSystem.pluginmanager.commands.SpikesCommand;
+import de.steyon.devSystem.pluginmanager.commands.ErrorsCommand;
 
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -54,6 +58,10 @@ public class PluginManagerCommand implements CommandExecutor, TabCompleter {
         registerSubCommand(new ListenersCommand(plugin, pluginManagerService));
         registerSubCommand(new DepsCommand(plugin, pluginManagerService));
         registerSubCommand(new LoadCommand(plugin, pluginManagerService));
+        registerSubCommand(new ProfileCommand(plugin, pluginManagerService));
+        registerSubCommand(new TpsCommand(plugin));
+        registerSubCommand(new SpikesCommand(plugin));
+        registerSubCommand(new ErrorsCommand(plugin));
     }
     
     private void registerSubCommand(SubCommand command) {
@@ -66,18 +74,14 @@ public class PluginManagerCommand implements CommandExecutor, TabCompleter {
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
         if (!(sender instanceof Player player)) {
-            sender.sendMessage(plugin.getConfigManager().getMessage(
-                plugin.getConfigManager().getValue("config.yml", "messages.command.player-only", 
-                "<prefix><red>This command can only be executed by a player!</red>")
-            ));
+            sender.sendMessage(plugin.getConfigManager().template(sender, "messages.command.player-only",
+                "<prefix><red>This command can only be executed by a player!</red>").render());
             return true;
         }
 
         if (!player.hasPermission("devsystem.pluginmanager")) {
-            sender.sendMessage(plugin.getConfigManager().getMessage(
-                plugin.getConfigManager().getValue("config.yml", "messages.no-permission", 
-                "<prefix><red>You don't have permission to use this command!</red>")
-            ));
+            sender.sendMessage(plugin.getConfigManager().template(sender, "messages.no-permission",
+                "<prefix><red>You don't have permission to use this command!</red>").render());
             return true;
         }
         
@@ -90,19 +94,15 @@ public class PluginManagerCommand implements CommandExecutor, TabCompleter {
         SubCommand subCommand = subCommands.get(subCommandName);
         
         if (subCommand == null) {
-            player.sendMessage(plugin.getMiniMessage().deserialize(
-                plugin.getConfigManager().getValue("config.yml", "messages.command.unknown", 
-                "<prefix><red>Unknown command. Type /help for help.</red>")
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "messages.command.unknown",
+                "<prefix><red>Unknown command. Type /help for help.</red>").render());
             sendHelp(player);
             return true;
         }
         
         if (!player.hasPermission(subCommand.getPermission())) {
-            sender.sendMessage(plugin.getConfigManager().getMessage(
-                plugin.getConfigManager().getValue("config.yml", "messages.no-permission", 
-                "<prefix><red>You don't have permission to use this command!</red>")
-            ));
+            sender.sendMessage(plugin.getConfigManager().template(sender, "messages.no-permission",
+                "<prefix><red>You don't have permission to use this command!</red>").render());
             return true;
         }
         
@@ -162,20 +162,17 @@ public class PluginManagerCommand implements CommandExecutor, TabCompleter {
     }
     
     private void sendHelp(Player player) {
-        MiniMessage miniMessage = plugin.getMiniMessage();
-        
-        String helpTitle = plugin.getConfigManager().getValue("config.yml", "plugin-manager.help-title", "<gradient:green:blue>Plugin Manager Help</gradient>");
-        player.sendMessage(miniMessage.deserialize(helpTitle));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.help-title", "<gradient:green:blue>Plugin Manager Help</gradient>").render());
         player.sendMessage(Component.empty());
         
-        String entryFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.help-entry-format", "<green>/plugmanager {name}</green> <dark_gray>-</dark_gray> {description}");
+        MessageTemplate entryFormat = plugin.getConfigManager().template(player, "plugin-manager.help-entry-format", "<green>/plugmanager {name}</green> <dark_gray>-</dark_gray> {description}");
         for (SubCommand subCommand : new ArrayList<>(new HashSet<>(subCommands.values()))) {
             if (player.hasPermission(subCommand.getPermission())) {
-                String line = entryFormat
-                    .replace("{name}", subCommand.getName())
-                    .replace("{description}", subCommand.getDescription());
-                player.sendMessage(miniMessage.deserialize(line));
+                Component description = plugin.getConfigManager()
+                    .template(player, "plugin-manager.command-help." + subCommand.getName(), subCommand.getDescription())
+                    .render();
+                player.sendMessage(entryFormat.render("name", subCommand.getName(), "description", description));
             }
         }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -1,84 +1,123 @@
 package de.steyon.devSystem.pluginmanager;
 
 import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.api.inv.GuiTemplate;
 import de.steyon.devSystem.api.inv.SteyOnInv;
+import de.steyon.devSystem.api.inv.controller.InventoryEventListener;
 import de.steyon.devSystem.api.inv.controller.PageHandler;
 import de.steyon.devSystem.api.inv.item.ActiveItem;
 import de.steyon.devSystem.api.item.ItemBuilder;
+import de.steyon.devSystem.api.item.ItemCache;
+import de.steyon.devSystem.config.MessageTemplate;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.event.HandlerList;
-import org.bukkit.plugin.RegisteredListener;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 public class PluginManagerGUI {
 
+    private static final String ACTION_GROUP = "actions";
+
     private final DevSystem plugin;
     private final PluginManagerService service;
-    private final MiniMessage miniMessage;
-    private final Map<SteyOnInv, PageHandler> pageHandlers = new HashMap<>();
+    private final Map<SteyOnInv, PageHandler> pageHandlers = new ConcurrentHashMap<>();
+    private final Map<String, GuiTemplate> mainTemplates = new ConcurrentHashMap<>();
+    private final Map<String, GuiTemplate> detailsTemplates = new ConcurrentHashMap<>();
+    private final ItemCache itemCache = new ItemCache(512);
+    private volatile GuiTemplate confirmTemplate;
 
     public PluginManagerGUI(DevSystem plugin, PluginManagerService service) {
         this.plugin = plugin;
         this.service = service;
-        this.miniMessage = MiniMessage.miniMessage();
+        plugin.getConfigManager().addReloadListener(this::invalidateTemplates);
+        plugin.getConfigManager().addBundleListener(this::invalidateLocales);
+    }
+
+    /**
+     * Drops the compiled GUI templates so they are rebuilt from the current config values.
+     */
+    public void invalidateTemplates() {
+        itemCache.invalidateAll();
+        mainTemplates.clear();
+        detailsTemplates.clear();
+        confirmTemplate = null;
+    }
+
+    /**
+     * Drops the templates and items rendered for the locales whose message bundle was loaded.
+     * Every item key starts with the viewer's locale key.
+     */
+    private void invalidateLocales(Predicate<String> affected) {
+        itemCache.invalidateIf(key -> !key.parts().isEmpty() && affected.test(key.parts().get(0)));
+        mainTemplates.keySet().removeIf(key -> affected.test(key.substring(0, key.indexOf(':'))));
+        detailsTemplates.keySet().removeIf(affected);
     }
 
     public void openMainGUI(Player player) {
-        String title = plugin.getConfigManager().getValue("config.yml", "plugin-manager.main-gui-title", "<gradient:green:blue>Plugin Manager</gradient>");
-        Component titleComponent = miniMessage.deserialize(title);
-        
-        String[] pattern = {
-            "XXXXXXXXX",
-            "XPPPPPPPX",
-            "XPPPPPPPX",
-            "XPPPPPPPX",
-            "XPPPPPPPX",
-            "XXXXXXXXX",
-        };
+        Component titleComponent = template(player, "plugin-manager.main-gui-title", "<gradient:green:blue>Plugin Manager</gradient>").render();
         
-        List<ActiveItem> pluginItems = createPluginItems(player);
+        List<Plugin> plugins = service.getPlugins();
         
         int itemsPerPage = 28;
-        int totalPages = (int) Math.ceil((double) pluginItems.size() / itemsPerPage);
+        int totalPages = (int) Math.ceil((double) plugins.size() / itemsPerPage);
         
-        boolean showLoadButton = plugin.getConfigManager().getValue("config.yml", "plugin-manager.settings.load-gui-button-enabled", true);
+        boolean showLoadButton = plugin.getConfigManager().get(PluginManagerSettings.LOAD_GUI_BUTTON_ENABLED);
+        String lastRow = "XXXXXXXXX";
         if (totalPages > 1) {
-            pattern[5] = showLoadButton ? "XXX<X>XXL" : "XXX<X>XXX";
+            lastRow = showLoadButton ? "XXX<X>XXL" : "XXX<X>XXX";
         } else {
-            if (showLoadButton) pattern[5] = "XXXXXXXXL";
+            if (showLoadButton) lastRow = "XXXXXXXXL";
         }
         
-        SteyOnInv gui = new SteyOnInv(plugin, 9 * 6, titleComponent, player, pattern);
+        String row = lastRow;
+        SteyOnInv gui = mainTemplates.computeIfAbsent(localeKey(player) + ":" + lastRow, key -> compileMainTemplate(player, row))
+            .create(plugin, titleComponent, player);
+        
+        PageHandler pageHandler = new PageHandler(gui, itemsPerPage, plugins.size(), index -> createPluginItem(player, plugins.get(index)), 'P');
+        pageHandlers.put(gui, pageHandler);
+        
+        gui.onClose(event -> {
+            pageHandlers.remove(gui);
+        });
+        
+        gui.open(player);
+    }
+    
+    /**
+     * @param player the first viewer; the template is shared by all viewers with the same locale
+     */
+    private GuiTemplate compileMainTemplate(Player player, String lastRow) {
+        String[] pattern = {
+            "XXXXXXXXX",
+            "XPPPPPPPX",
+            "XPPPPPPPX",
+            "XPPPPPPPX",
+            "XPPPPPPPX",
+            lastRow,
+        };
         
-        ItemBuilder borderItem = new ItemBuilder(Material.GRAY_STAINED_GLASS_PANE)
-            .name(Component.empty())
-            .clearAllAttributes();
-            
-        ActiveItem border = new ActiveItem(borderItem.build())
-            .click(e -> e.setCancelled(true));
-            
         HashMap<Character, ActiveItem> staticItems = new HashMap<>();
-        staticItems.put('X', border);
+        staticItems.put('X', createBorderItem());
         
-        if (totalPages > 1) {
-            String prevPageText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.prev-page", "<blue>Previous Page</blue>");
-            String nextPageText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.next-page", "<blue>Next Page</blue>");
-            
-            ItemBuilder prevPageItem = new ItemBuilder(Material.ARROW)
-                .name(miniMessage.deserialize(prevPageText))
+        if (lastRow.indexOf('<') != -1) {
+            ItemBuilder prevPageItem = new ItemBuilder(Material.ARROW).deferred()
+                .name(template(player, "plugin-manager.prev-page", "<blue>Previous Page</blue>").render())
                 .clearAllAttributes();
                 
-            ItemBuilder nextPageItem = new ItemBuilder(Material.ARROW)
-                .name(miniMessage.deserialize(nextPageText))
+            ItemBuilder nextPageItem = new ItemBuilder(Material.ARROW).deferred()
+                .name(template(player, "plugin-manager.next-page", "<blue>Next Page</blue>").render())
                 .clearAllAttributes();
                 
             ActiveItem prevPage = new ActiveItem(prevPageItem.build()).click(this::handlePrevPageClick);
@@ -88,120 +127,130 @@ public class PluginManagerGUI {
             staticItems.put('>', nextPage);
         }
 
-        if (showLoadButton) {
-            String loadText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-button-text", "<yellow>Load Plugin</yellow>");
-            String loadLore = plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-button-lore", "<dark_gray>» <gray>Click to see command usage");
-
-            ItemBuilder loadBuilder = new ItemBuilder(Material.CHEST)
-                .name(miniMessage.deserialize(loadText))
-                .lore(miniMessage.deserialize(loadLore))
+        if (lastRow.indexOf('L') != -1) {
+            ItemBuilder loadBuilder = new ItemBuilder(Material.CHEST).deferred()
+                .name(template(player, "plugin-manager.load-button-text", "<yellow>Load Plugin</yellow>").render())
+                .lore(template(player, "plugin-manager.load-button-lore", "<dark_gray>» <gray>Click to see command usage").render())
                 .clearAllAttributes();
 
             ActiveItem loadItem = new ActiveItem(loadBuilder.build())
                 .click(e -> {
                     e.setCancelled(true);
-                    if (!((Player) e.getWhoClicked()).hasPermission("devsystem.pluginmanager.load")) {
-                        ((Player) e.getWhoClicked()).sendMessage(
-                            plugin.getConfigManager().getMessage(
-                                plugin.getConfigManager().getValue("config.yml", "messages.no-permission", "<prefix><red>You don't have permission to use this command!</red>")
-                            )
+                    Player clicker = (Player) e.getWhoClicked();
+                    if (!clicker.hasPermission("devsystem.pluginmanager.load")) {
+                        clicker.sendMessage(
+                            template(clicker, "messages.no-permission", "<prefix><red>You don't have permission to use this command!</red>").render()
                         );
                         return;
                     }
-                    String loadTitle = plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-help-title", "<aqua><bold>Load Plugin</bold>");
-                    String usage = plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-help-usage", "<dark_gray>» <gray>/plugmanager load <blue><path-or-url>");
-                    ((Player) e.getWhoClicked()).sendMessage(miniMessage.deserialize(loadTitle));
-                    ((Player) e.getWhoClicked()).sendMessage(miniMessage.deserialize(usage));
+                    clicker.sendMessage(template(clicker, "plugin-manager.load-help-title", "<aqua><bold>Load Plugin</bold>").render());
+                    clicker.sendMessage(template(clicker, "plugin-manager.load-help-usage", "<dark_gray>» <gray>/plugmanager load <blue><path-or-url>").render());
                 });
 
             staticItems.put('L', loadItem);
         }
         
-        gui.setUnActiveItems(staticItems);
-        
-        PageHandler pageHandler = new PageHandler(gui, itemsPerPage, pluginItems, 'P');
-        pageHandlers.put(gui, pageHandler);
-        
-        gui.onClose(event -> {
-            pageHandlers.remove(gui);
-        });
-        
-        gui.open(player);
+        return GuiTemplate.compile(pattern, staticItems);
+    }
+    
+    private ActiveItem createBorderItem() {
+        ItemBuilder borderItem = new ItemBuilder(Material.GRAY_STAINED_GLASS_PANE).deferred()
+            .name(Component.empty())
+            .clearAllAttributes();
+            
+        return new ActiveItem(borderItem.build())
+            .click(e -> e.setCancelled(true));
     }
     
     private void handlePrevPageClick(InventoryClickEvent event) {
         event.setCancelled(true);
-        if (event.getInventory().getHolder() == null) {
-            SteyOnInv inv = findInventoryByClickEvent(event);
-            if (inv != null) {
-                PageHandler pageHandler = pageHandlers.get(inv);
-                if (pageHandler != null && pageHandler.hasPreviousPage()) {
-                    pageHandler.previousPage();
-                }
-            }
+        PageHandler pageHandler = findPageHandler(event);
+        if (pageHandler != null && pageHandler.hasPreviousPage()) {
+            pageHandler.previousPage();
         }
     }
     
     private void handleNextPageClick(InventoryClickEvent event) {
         event.setCancelled(true);
-        if (event.getInventory().getHolder() == null) {
-            SteyOnInv inv = findInventoryByClickEvent(event);
-            if (inv != null) {
-                PageHandler pageHandler = pageHandlers.get(inv);
-                if (pageHandler != null && pageHandler.hasNextPage()) {
-                    pageHandler.nextPage();
-                }
-            }
+        PageHandler pageHandler = findPageHandler(event);
+        if (pageHandler != null && pageHandler.hasNextPage()) {
+            pageHandler.nextPage();
         }
     }
     
-    private SteyOnInv findInventoryByClickEvent(InventoryClickEvent event) {
-        for (SteyOnInv inv : pageHandlers.keySet()) {
-            if (inv.getInventory().equals(event.getInventory())) {
-                return inv;
-            }
-        }
-        return null;
+    private PageHandler findPageHandler(InventoryClickEvent event) {
+        SteyOnInv inv = InventoryEventListener.resolve(event.getInventory());
+        return inv != null ? pageHandlers.get(inv) : null;
     }
     
-    private List<ActiveItem> createPluginItems(Player player) {
-        List<ActiveItem> items = new ArrayList<>();
-        
-        for (Plugin plugin : service.getPlugins()) {
-            String nameText = this.plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-name", "<gradient:green:blue>{plugin}</gradient>")
-                .replace("{plugin}", plugin.getName());
-                
-            String versionText = this.plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-version", "<gray>Version: <green>{version}</green>")
-                .replace("{version}", plugin.getDescription().getVersion());
-                
-            String enabledText = this.plugin.getConfigManager().getValue("config.yml", "plugin-manager.status-enabled", "<green>Enabled</green>");
-            String disabledText = this.plugin.getConfigManager().getValue("config.yml", "plugin-manager.status-disabled", "<red>Disabled</red>");
-            
-            String statusText = this.plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-status", "<gray>Status: {status}")
-                .replace("{status}", plugin.isEnabled() ? enabledText : disabledText);
-                
-            String clickText = this.plugin.getConfigManager().getValue("config.yml", "plugin-manager.click-to-manage", "<dark_gray>Click to manage this plugin</dark_gray>");
+    private ActiveItem createPluginItem(Player player, Plugin plugin) {
+        String version = plugin.getDescription().getVersion();
+        boolean enabled = plugin.isEnabled();
+        Material material = getPluginMaterial(plugin);
+        
+        ItemStack itemStack = renderItem(ItemCache.Key.of(cacheGroup(plugin), material, localeKey(player), "list", plugin.getName(), version, String.valueOf(enabled)), () -> new Component[] {
+            template(player, "plugin-manager.plugin-name", "<gradient:green:blue>{plugin}</gradient>").render("plugin", plugin.getName()),
+            template(player, "plugin-manager.plugin-version", "<gray>Version: <green>{version}</green>").render("version", version),
+            template(player, "plugin-manager.plugin-status", "<gray>Status: {status}").render("status", statusText(player, enabled)),
+            Component.empty(),
+            template(player, "plugin-manager.click-to-manage", "<dark_gray>Click to manage this plugin</dark_gray>").render()
+        });
             
-            ItemBuilder builder = new ItemBuilder(getPluginMaterial(plugin))
-                .name(miniMessage.deserialize(nameText))
-                .lore(
-                    miniMessage.deserialize(versionText),
-                    miniMessage.deserialize(statusText),
-                    Component.empty(),
-                    miniMessage.deserialize(clickText)
-                )
+        return new ActiveItem(itemStack)
+            .click(e -> {
+                e.setCancelled(true);
+                openPluginDetailsGUI(player, plugin);
+            });
+    }
+    
+    private Component calculatingText(Player player) {
+        return template(player, "plugin-manager.calculating", "<gray>calculating…</gray>").render();
+    }
+
+    private Component statusText(Player player, boolean enabled) {
+        return enabled
+            ? template(player, "plugin-manager.status-enabled", "<green>Enabled</green>").render()
+            : template(player, "plugin-manager.status-disabled", "<red>Disabled</red>").render();
+    }
+    
+    /**
+     * Renders an item through the item cache. The first line is the name, the others the lore;
+     * the lines are only rendered on a cache miss.
+     */
+    private ItemStack renderItem(ItemCache.Key key, Supplier<Component[]> lines) {
+        return itemCache.get(key, () -> {
+            Component[] rendered = lines.get();
+            ItemBuilder builder = new ItemBuilder(key.material()).deferred()
+                .name(rendered[0])
                 .clearAllAttributes();
-                
-            ActiveItem item = new ActiveItem(builder.build())
-                .click(e -> {
-                    e.setCancelled(true);
-                    openPluginDetailsGUI(player, plugin);
-                });
-                
-            items.add(item);
-        }
-        
-        return items;
+            if (rendered.length > 1) {
+                builder.lore(Arrays.copyOfRange(rendered, 1, rendered.length));
+            }
+            return builder.build();
+        });
+    }
+
+    private MessageTemplate template(Player viewer, String path, String defaultValue) {
+        return plugin.getConfigManager().template(viewer, path, defaultValue);
+    }
+
+    private String localeKey(Player viewer) {
+        return plugin.getConfigManager().localeKey(viewer);
+    }
+
+    private static String cacheGroup(Plugin plugin) {
+        return plugin.getName().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Drops the cached items of a plugin after its state changed.
+     */
+    public void invalidatePlugin(Plugin target) {
+        itemCache.invalidate(cacheGroup(target));
+    }
+
+    public ItemCache getItemCache() {
+        return itemCache;
     }
     
     private Material getPluginMaterial(Plugin plugin) {
@@ -212,45 +261,30 @@ public class PluginManagerGUI {
     }
     
     public void openPluginDetailsGUI(Player player, Plugin targetPlugin) {
-        String title = plugin.getConfigManager().getValue("config.yml", "plugin-manager.details-gui-title", "<gradient:green:blue>Plugin: {plugin}</gradient>")
-            .replace("{plugin}", targetPlugin.getName());
-        Component titleComponent = miniMessage.deserialize(title);
+        openPluginDetailsGUI(player, targetPlugin, service.getDataFolderScanner().getCached(targetPlugin));
+    }
+
+    /**
+     * @param dataScan the data folder scan to show, or null to show "calculating" and reopen once it finished
+     */
+    private void openPluginDetailsGUI(Player player, Plugin targetPlugin, DataFolderScanner.Scan dataScan) {
+        Component titleComponent = template(player, "plugin-manager.details-gui-title", "<gradient:green:blue>Plugin: {plugin}</gradient>")
+            .render("plugin", targetPlugin.getName());
         
-        String[] pattern = {
-            "XXXXXXXXX",
-            "XXXXIXXXX",
-            "XXRXDXEXX",
-            "XXXXXXXXB",
-        };
+        GuiTemplate template = detailsTemplates.computeIfAbsent(localeKey(player), key -> compileDetailsTemplate(player));
         
-        SteyOnInv gui = new SteyOnInv(plugin, 9 * 4, titleComponent, player, pattern);
+        SteyOnInv gui = template.create(plugin, titleComponent, player);
         
-        String pluginNameText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-name", "<gradient:green:blue>{plugin}</gradient>")
-            .replace("{plugin}", targetPlugin.getName());
-            
-        String versionText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-version", "<gray>Version: <green>{version}</green>")
-            .replace("{version}", targetPlugin.getDescription().getVersion());
-            
         String authorName = "Unknown";
         if (targetPlugin.getDescription().getAuthors() != null && !targetPlugin.getDescription().getAuthors().isEmpty()) {
             authorName = String.join(", ", targetPlugin.getDescription().getAuthors());
         }
         
-        String authorText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-author", "<gray>Author: <green>{author}</green>")
-            .replace("{author}", authorName);
-        
         String desc = "No description available";
         if (targetPlugin.getDescription().getDescription() != null) {
             desc = targetPlugin.getDescription().getDescription();
         }
         
-        String descriptionText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-description", "<gray>Description: <green>{description}</green>")
-            .replace("{description}", desc);
-        
-        String statusText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-status", "<gray>Status: {status}")
-            .replace("{status}", targetPlugin.isEnabled() ? "<green>Enabled</green>" : "<red>Disabled</red>");
-        
-        String commandsFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-commands", "<gray>Commands: <green>{commands}</green>");
         StringBuilder commandsBuilder = new StringBuilder();
         Map<String, Map<String, Object>> commands = targetPlugin.getDescription().getCommands();
         if (commands != null && !commands.isEmpty()) {
@@ -261,154 +295,86 @@ public class PluginManagerGUI {
                 commandsBuilder.append("/").append(commandName);
             }
         }
-        
-        String commandsText = commandsFormat.replace("{commands}", 
-            commandsBuilder.length() > 0 ? commandsBuilder.toString() : "None");
+        String commandsValue = commandsBuilder.length() > 0 ? commandsBuilder.toString() : "None";
             
-        String dependenciesFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-dependencies", 
-            "<gray>Dependencies: <green>{dependencies}</green>");
-        StringBuilder dependenciesBuilder = new StringBuilder();
         List<String> dependencies = targetPlugin.getDescription().getDepend();
-        if (dependencies != null && !dependencies.isEmpty()) {
-            dependenciesBuilder.append(String.join(", ", dependencies));
-        }
-        
-        String dependenciesText = dependenciesFormat.replace("{dependencies}", 
-            dependenciesBuilder.length() > 0 ? dependenciesBuilder.toString() : "None");
+        String dependenciesValue = dependencies != null && !dependencies.isEmpty() ? String.join(", ", dependencies) : "None";
             
-        String softDependenciesFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-soft-dependencies", 
-            "<gray>Soft Dependencies: <green>{softdependencies}</green>");
-        StringBuilder softDependenciesBuilder = new StringBuilder();
         List<String> softDependencies = targetPlugin.getDescription().getSoftDepend();
-        if (softDependencies != null && !softDependencies.isEmpty()) {
-            softDependenciesBuilder.append(String.join(", ", softDependencies));
-        }
-        
-        String softDependenciesText = softDependenciesFormat.replace("{softdependencies}", 
-            softDependenciesBuilder.length() > 0 ? softDependenciesBuilder.toString() : "None");
+        String softDependenciesValue = softDependencies != null && !softDependencies.isEmpty() ? String.join(", ", softDependencies) : "None";
             
-        String websiteFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-website", 
-            "<gray>Website: <green>{website}</green>");
         String website = targetPlugin.getDescription().getWebsite();
-        String websiteText = websiteFormat.replace("{website}", 
-            website != null && !website.isEmpty() ? website : "None");
-            
-        String mainClassFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-main-class", 
-            "<gray>Main Class: <green>{mainclass}</green>");
-        String mainClassText = mainClassFormat.replace("{mainclass}", targetPlugin.getDescription().getMain());
-        
-        String eventsFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-events", 
-            "<gray>Events Listener: <green>{events}</green>");
-        
-        StringBuilder eventsBuilder = new StringBuilder();
-        
-        try {
-            List<String> listenerClasses = new ArrayList<>();
-            
-            for (RegisteredListener listener : HandlerList.getRegisteredListeners(targetPlugin)) {
-                String listenerClass = listener.getListener().getClass().getSimpleName();
-                if (!listenerClass.isEmpty() && !listenerClasses.contains(listenerClass)) {
-                    listenerClasses.add(listenerClass);
-                }
-            }
-            
-            if (!listenerClasses.isEmpty()) {
-                eventsBuilder.append(String.join(", ", listenerClasses));
-            }
-        } catch (Exception e) {
-        }
+        String websiteValue = website != null && !website.isEmpty() ? website : "None";
         
-        String eventsText = eventsFormat.replace("{events}", 
-            eventsBuilder.length() > 0 ? eventsBuilder.toString() : "None");
+        List<String> listenerClasses = service.getListenerClassNames(targetPlugin);
+        String eventsValue = listenerClasses.isEmpty() ? "None" : String.join(", ", listenerClasses);
         
-        String apiFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-api", 
-            "<gray>API: <green>{api}</green>");
-        String apiText = apiFormat.replace("{api}", service.getApiVersion(targetPlugin));
-
-        String loadFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-load", 
-            "<gray>Load: <green>{load}</green>");
-        String loadText = loadFormat.replace("{load}", service.getLoadPhase(targetPlugin));
-
-        String providesFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-provides", 
-            "<gray>Provides: <green>{provides}</green>");
         String providesJoined = String.join(", ", service.getProvides(targetPlugin));
-        String providesText = providesFormat.replace("{provides}", providesJoined.isEmpty() ? "None" : providesJoined);
-
-        String jarFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-jar", 
-            "<gray>JAR: <green>{path}</green> <gray>({size} bytes)</gray>");
-        String jarText = jarFormat.replace("{path}", service.getJarPath(targetPlugin))
-            .replace("{size}", String.valueOf(Math.max(service.getJarSizeBytes(targetPlugin), 0)));
-
-        String dataFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-datafolder", 
-            "<gray>DataFolder: <green>{path}</green> <gray>({files} files, {size} bytes)</gray>");
-        String dataText = dataFormat
-            .replace("{path}", targetPlugin.getDataFolder() != null ? targetPlugin.getDataFolder().getAbsolutePath() : "-")
-            .replace("{files}", String.valueOf(service.getDataFolderFileCount(targetPlugin)))
-            .replace("{size}", String.valueOf(Math.max(service.getDataFolderSizeBytes(targetPlugin), 0)));
-
-        String listenersCountFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-listeners-count", 
-            "<gray>Listeners: <green>{count}</green>");
-        String listenersCountText = listenersCountFormat.replace("{count}", String.valueOf(service.getListenerCount(targetPlugin)));
-
-        String tasksCountFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-tasks-count", 
-            "<gray>Tasks: <green>{count}</green>");
-        String tasksCountText = tasksCountFormat.replace("{count}", String.valueOf(service.getTaskCount(targetPlugin)));
-        
-        ItemBuilder infoBuilder = new ItemBuilder(Material.BOOK)
-            .name(miniMessage.deserialize(pluginNameText))
-            .lore(
-                miniMessage.deserialize(versionText),
-                miniMessage.deserialize(authorText),
-                miniMessage.deserialize(descriptionText),
-                miniMessage.deserialize(statusText),
-                miniMessage.deserialize(commandsText),
-                miniMessage.deserialize(dependenciesText),
-                miniMessage.deserialize(softDependenciesText),
-                miniMessage.deserialize(websiteText),
-                miniMessage.deserialize(mainClassText),
-                miniMessage.deserialize(eventsText),
-                miniMessage.deserialize(apiText),
-                miniMessage.deserialize(loadText),
-                miniMessage.deserialize(providesText),
-                miniMessage.deserialize(jarText),
-                miniMessage.deserialize(dataText),
-                miniMessage.deserialize(listenersCountText),
-                miniMessage.deserialize(tasksCountText)
-            )
-            .clearAllAttributes();
-            
-        ActiveItem infoItem = new ActiveItem(infoBuilder.build())
-            .click(e -> e.setCancelled(true));
+        String providesValue = providesJoined.isEmpty() ? "None" : providesJoined;
+        String jarPath = service.getJarPath(targetPlugin);
+        String jarSize = String.valueOf(Math.max(service.getJarSizeBytes(targetPlugin), 0));
+        String dataPath = targetPlugin.getDataFolder() != null ? targetPlugin.getDataFolder().getAbsolutePath() : "-";
+        String dataFiles = dataScan != null ? String.valueOf(dataScan.fileCount()) : "-";
+        String dataSize = dataScan != null ? String.valueOf(dataScan.sizeBytes()) : "-";
+        String listenerCount = String.valueOf(service.getListenerCount(targetPlugin));
+        String taskCount = service.getTaskCountText(targetPlugin);
+        String version = targetPlugin.getDescription().getVersion();
+        String mainClass = targetPlugin.getDescription().getMain();
+        String apiVersion = service.getApiVersion(targetPlugin);
+        String loadPhase = service.getLoadPhase(targetPlugin);
+        boolean enabled = targetPlugin.isEnabled();
+        String author = authorName;
+        String description = desc;
+        
+        ItemCache.Key infoKey = ItemCache.Key.of(cacheGroup(targetPlugin), Material.BOOK, localeKey(player), "details", targetPlugin.getName(),
+            version, author, description, String.valueOf(enabled), commandsValue, dependenciesValue, softDependenciesValue,
+            websiteValue, mainClass, eventsValue, apiVersion, loadPhase, providesValue, jarPath, jarSize, dataPath, dataFiles,
+            dataSize, listenerCount, taskCount);
+        
+        ItemStack infoStack = renderItem(infoKey, () -> new Component[] {
+            template(player, "plugin-manager.plugin-name", "<gradient:green:blue>{plugin}</gradient>").render("plugin", targetPlugin.getName()),
+            template(player, "plugin-manager.plugin-version", "<gray>Version: <green>{version}</green>").render("version", version),
+            template(player, "plugin-manager.plugin-author", "<gray>Author: <green>{author}</green>").render("author", author),
+            template(player, "plugin-manager.plugin-description", "<gray>Description: <green>{description}</green>").render("description", description),
+            template(player, "plugin-manager.plugin-status", "<gray>Status: {status}").render("status", statusText(player, enabled)),
+            template(player, "plugin-manager.plugin-commands", "<gray>Commands: <green>{commands}</green>").render("commands", commandsValue),
+            template(player, "plugin-manager.plugin-dependencies", "<gray>Dependencies: <green>{dependencies}</green>").render("dependencies", dependenciesValue),
+            template(player, "plugin-manager.plugin-soft-dependencies", "<gray>Soft Dependencies: <green>{softdependencies}</green>").render("softdependencies", softDependenciesValue),
+            template(player, "plugin-manager.plugin-website", "<gray>Website: <green>{website}</green>").render("website", websiteValue),
+            template(player, "plugin-manager.plugin-main-class", "<gray>Main Class: <green>{mainclass}</green>").render("mainclass", mainClass),
+            template(player, "plugin-manager.plugin-events", "<gray>Events Listener: <green>{events}</green>").render("events", eventsValue),
+            template(player, "plugin-manager.plugin-api", "<gray>API: <green>{api}</green>").render("api", apiVersion),
+            template(player, "plugin-manager.plugin-load", "<gray>Load: <green>{load}</green>").render("load", loadPhase),
+            template(player, "plugin-manager.plugin-provides", "<gray>Provides: <green>{provides}</green>").render("provides", providesValue),
+            template(player, "plugin-manager.plugin-jar", "<gray>JAR: <green>{path}</green> <gray>({size} bytes)</gray>").render("path", jarPath, "size", jarSize),
+            dataScan != null
+                ? template(player, "plugin-manager.plugin-datafolder", "<gray>DataFolder: <green>{path}</green> <gray>({files} files, {size} bytes)</gray>")
+                    .render("path", dataPath, "files", dataFiles, "size", dataSize)
+                : template(player, "plugin-manager.plugin-datafolder", "<gray>DataFolder: <green>{path}</green> <gray>({files} files, {size} bytes)</gray>")
+                    .render("path", dataPath, "files", calculatingText(player), "size", calculatingText(player)),
+            template(player, "plugin-manager.plugin-listeners-count", "<gray>Listeners: <green>{count}</green>").render("count", listenerCount),
+            template(player, "plugin-manager.plugin-tasks-count", "<gray>Tasks: <green>{count}</green>").render("count", taskCount)
+        });
             
-        ItemBuilder borderBuilder = new ItemBuilder(Material.GRAY_STAINED_GLASS_PANE)
-            .name(Component.empty())
-            .clearAllAttributes();
-        ActiveItem borderItem = new ActiveItem(borderBuilder.build())
+        ActiveItem infoItem = new ActiveItem(infoStack)
             .click(e -> e.setCancelled(true));
             
-        String reloadText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.reload-text", "<yellow>Reload Plugin</yellow>");
-        String reloadLoreText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.reload-lore", "<dark_gray>Click to reload this plugin</dark_gray>");
-        
-        ItemBuilder reloadBuilder = new ItemBuilder(Material.CLOCK)
-            .name(miniMessage.deserialize(reloadText))
-            .lore(miniMessage.deserialize(reloadLoreText))
-            .clearAllAttributes();
-            
-        ActiveItem reloadItem = new ActiveItem(reloadBuilder.build())
+        ActiveItem reloadItem = new ActiveItem(renderItem(ItemCache.Key.of(ACTION_GROUP, Material.CLOCK, localeKey(player), "reload"), () -> new Component[] {
+                template(player, "plugin-manager.reload-text", "<yellow>Reload Plugin</yellow>").render(),
+                template(player, "plugin-manager.reload-lore", "<dark_gray>Click to reload this plugin</dark_gray>").render()
+            }))
             .click(e -> {
                 e.setCancelled(true);
                 if (player.hasPermission("devsystem.pluginmanager.reload")) {
                     // Prevent reloading the core DevSystem plugin to avoid breaking the system
                     if (targetPlugin.getName().equalsIgnoreCase(plugin.getName())) {
-                        player.sendMessage(miniMessage.deserialize(
-                            plugin.getConfigManager().getValue("config.yml", "plugin-manager.cannot-reload-core",
+                        player.sendMessage(template(player, "plugin-manager.cannot-reload-core",
                             "<prefix><red>Cannot reload core system plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
-                                .replace("{plugin}", targetPlugin.getName())
-                        ));
+                            .render("plugin", targetPlugin.getName()));
                         return;
                     }
                     openConfirmGUI(player,
-                        plugin.getConfigManager().getValue("config.yml", "plugin-manager.confirm-reload", "<yellow>Reload {plugin}?</yellow>").replace("{plugin}", targetPlugin.getName()),
+                        template(player, "plugin-manager.confirm-reload", "<yellow>Reload {plugin}?</yellow>").render("plugin", targetPlugin.getName()),
                         () -> {
                             service.reloadPlugin(targetPlugin, player);
                             openPluginDetailsGUI(player, targetPlugin);
@@ -418,20 +384,15 @@ public class PluginManagerGUI {
                 }
             });
 
-        String enableText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.enable-text", "<green>Enable Plugin</green>");
-        String enableLoreText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.enable-lore", "<dark_gray>Click to enable this plugin</dark_gray>");
-        
-        ItemBuilder enableBuilder = new ItemBuilder(Material.LIME_DYE)
-            .name(miniMessage.deserialize(enableText))
-            .lore(miniMessage.deserialize(enableLoreText))
-            .clearAllAttributes();
-            
-        ActiveItem enableItem = new ActiveItem(enableBuilder.build())
+        ActiveItem enableItem = new ActiveItem(renderItem(ItemCache.Key.of(ACTION_GROUP, Material.LIME_DYE, localeKey(player), "enable"), () -> new Component[] {
+                template(player, "plugin-manager.enable-text", "<green>Enable Plugin</green>").render(),
+                template(player, "plugin-manager.enable-lore", "<dark_gray>Click to enable this plugin</dark_gray>").render()
+            }))
             .click(e -> {
                 e.setCancelled(true);
                 if (player.hasPermission("devsystem.pluginmanager.enable")) {
                     openConfirmGUI(player,
-                        plugin.getConfigManager().getValue("config.yml", "plugin-manager.confirm-enable", "<green>Enable {plugin}?</green>").replace("{plugin}", targetPlugin.getName()),
+                        template(player, "plugin-manager.confirm-enable", "<green>Enable {plugin}?</green>").render("plugin", targetPlugin.getName()),
                         () -> {
                             service.enablePlugin(targetPlugin, player);
                             openPluginDetailsGUI(player, targetPlugin);
@@ -441,20 +402,15 @@ public class PluginManagerGUI {
                 }
             });
 
-        String disableText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.disable-text", "<red>Disable Plugin</red>");
-        String disableLoreText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.disable-lore", "<dark_gray>Click to disable this plugin</dark_gray>");
-        
-        ItemBuilder disableBuilder = new ItemBuilder(Material.RED_DYE)
-            .name(miniMessage.deserialize(disableText))
-            .lore(miniMessage.deserialize(disableLoreText))
-            .clearAllAttributes();
-            
-        ActiveItem disableItem = new ActiveItem(disableBuilder.build())
+        ActiveItem disableItem = new ActiveItem(renderItem(ItemCache.Key.of(ACTION_GROUP, Material.RED_DYE, localeKey(player), "disable"), () -> new Component[] {
+                template(player, "plugin-manager.disable-text", "<red>Disable Plugin</red>").render(),
+                template(player, "plugin-manager.disable-lore", "<dark_gray>Click to disable this plugin</dark_gray>").render()
+            }))
             .click(e -> {
                 e.setCancelled(true);
                 if (player.hasPermission("devsystem.pluginmanager.disable")) {
                     openConfirmGUI(player,
-                        plugin.getConfigManager().getValue("config.yml", "plugin-manager.confirm-disable", "<red>Disable {plugin}?</red>").replace("{plugin}", targetPlugin.getName()),
+                        template(player, "plugin-manager.confirm-disable", "<red>Disable {plugin}?</red>").render("plugin", targetPlugin.getName()),
                         () -> {
                             service.disablePlugin(targetPlugin, player);
                             openPluginDetailsGUI(player, targetPlugin);
@@ -464,73 +420,94 @@ public class PluginManagerGUI {
                 }
             });
 
-        String backText = plugin.getConfigManager().getValue("config.yml", "plugin-manager.back-text", "<blue>Back to Plugin List</blue>");
-        
-        ItemBuilder backBuilder = new ItemBuilder(Material.ARROW)
-            .name(miniMessage.deserialize(backText))
-            .clearAllAttributes();
-            
-        ActiveItem backItem = new ActiveItem(backBuilder.build())
-            .click(e -> {
-                e.setCancelled(true);
-                openMainGUI(player);
-            });
-            
         HashMap<Character, ActiveItem> items = new HashMap<>();
-        items.put('X', borderItem);
         items.put('I', infoItem);
         boolean canReload = player.hasPermission("devsystem.pluginmanager.reload");
         boolean canEnable = player.hasPermission("devsystem.pluginmanager.enable");
         boolean canDisable = player.hasPermission("devsystem.pluginmanager.disable");
 
-        items.put('R', canReload ? reloadItem : borderItem);
-        items.put('B', backItem);
+        if (canReload) items.put('R', reloadItem);
 
         if (targetPlugin.isEnabled()) {
-            items.put('D', canDisable ? disableItem : borderItem);
-            items.put('E', borderItem);
+            if (canDisable) items.put('D', disableItem);
         } else {
-            items.put('E', canEnable ? enableItem : borderItem);
-            items.put('D', borderItem);
+            if (canEnable) items.put('E', enableItem);
         }
 
         gui.setUnActiveItems(items);
         gui.open(player);
+
+        if (dataScan == null) {
+            // Reopen once with the finished scan, unless the player moved on; the reopened view
+            // shows this result even if it is already stale, so it never starts another scan
+            service.getDataFolderScanner().scan(targetPlugin).thenAccept(result -> player.getScheduler().run(plugin, task -> {
+                if (player.getOpenInventory().getTopInventory() == gui.getInventory()) {
+                    openPluginDetailsGUI(player, targetPlugin, result);
+                }
+            }, null));
+        }
     }
 
-    private void openConfirmGUI(Player player, String titleMiniMsg, Runnable onConfirm, Runnable onCancel) {
-        Component title = miniMessage.deserialize(titleMiniMsg);
+    /**
+     * @param player the first viewer; the template is shared by all viewers with the same locale
+     */
+    private GuiTemplate compileDetailsTemplate(Player player) {
         String[] pattern = {
             "XXXXXXXXX",
-            "XXYXXXNXX",
-            "XXXXXXXXX",
+            "XXXXIXXXX",
+            "XXRXDXEXX",
+            "XXXXXXXXB",
         };
 
-        SteyOnInv gui = new SteyOnInv(plugin, 9 * 3, title, player, pattern);
-
-        ItemBuilder borderBuilder = new ItemBuilder(Material.GRAY_STAINED_GLASS_PANE)
-            .name(Component.empty())
+        ItemBuilder backBuilder = new ItemBuilder(Material.ARROW).deferred()
+            .name(template(player, "plugin-manager.back-text", "<blue>Back to Plugin List</blue>").render())
             .clearAllAttributes();
-        ActiveItem border = new ActiveItem(borderBuilder.build()).click(e -> e.setCancelled(true));
+            
+        ActiveItem backItem = new ActiveItem(backBuilder.build())
+            .click(e -> {
+                e.setCancelled(true);
+                openMainGUI((Player) e.getWhoClicked());
+            });
 
-        ItemBuilder yesBuilder = new ItemBuilder(Material.LIME_WOOL)
-            .name(miniMessage.deserialize(plugin.getConfigManager().getValue("config.yml", "plugin-manager.confirm-yes", "<green>Yes</green>")))
-            .clearAllAttributes();
-        ActiveItem yes = new ActiveItem(yesBuilder.build()).click(e -> {
+        // Action slots show the border unless the viewer may use the action
+        ActiveItem borderItem = createBorderItem();
+        HashMap<Character, ActiveItem> items = new HashMap<>();
+        items.put('X', borderItem);
+        items.put('R', borderItem);
+        items.put('D', borderItem);
+        items.put('E', borderItem);
+        items.put('B', backItem);
+
+        return GuiTemplate.compile(pattern, items);
+    }
+
+    private void openConfirmGUI(Player player, Component title, Runnable onConfirm, Runnable onCancel) {
+        GuiTemplate template = confirmTemplate;
+        if (template == null) {
+            String[] pattern = {
+                "XXXXXXXXX",
+                "XXYXXXNXX",
+                "XXXXXXXXX",
+            };
+            template = GuiTemplate.compile(pattern, Map.of('X', createBorderItem()));
+            confirmTemplate = template;
+        }
+
+        SteyOnInv gui = template.create(plugin, title, player);
+
+        ActiveItem yes = new ActiveItem(renderItem(ItemCache.Key.of(ACTION_GROUP, Material.LIME_WOOL, localeKey(player), "confirm-yes"),
+            () -> new Component[] { template(player, "plugin-manager.confirm-yes", "<green>Yes</green>").render() })).click(e -> {
             e.setCancelled(true);
             if (onConfirm != null) onConfirm.run();
         });
 
-        ItemBuilder noBuilder = new ItemBuilder(Material.RED_WOOL)
-            .name(miniMessage.deserialize(plugin.getConfigManager().getValue("config.yml", "plugin-manager.confirm-no", "<red>No</red>")))
-            .clearAllAttributes();
-        ActiveItem no = new ActiveItem(noBuilder.build()).click(e -> {
+        ActiveItem no = new ActiveItem(renderItem(ItemCache.Key.of(ACTION_GROUP, Material.RED_WOOL, localeKey(player), "confirm-no"),
+            () -> new Component[] { template(player, "plugin-manager.confirm-no", "<red>No</red>").render() })).click(e -> {
             e.setCancelled(true);
             if (onCancel != null) onCancel.run();
         });
 
         HashMap<Character, ActiveItem> items = new HashMap<>();
-        items.put('X', border);
         items.put('Y', yes);
         items.put('N', no);
 
@@ -1,67 +1,105 @@
 package de.steyon.devSystem.pluginmanager;
 
 import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
+import de.steyon.devSystem.profiler.TickMonitor;
+import lombok.Getter;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginManager;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 
 import java.util.Arrays;
+import java.util.Locale;
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.ArrayList;
+import java.util.Set;
 import java.io.File;
-import java.net.URL;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class PluginManagerService {
 
     private final DevSystem plugin;
     private final PluginManager pluginManager;
+    @Getter
+    private final PluginIndex pluginIndex;
+    @Getter
+    private final DependencyGraph dependencyGraph;
+    @Getter
+    private final DataFolderScanner dataFolderScanner;
+    @Getter
+    private final JarInfoCache jarInfoCache;
+    @Getter
+    private final TaskIndex taskIndex = new TaskIndex();
+    @Getter
+    private final ListenerIndex listenerIndex = new ListenerIndex();
     private PluginManagerGUI pluginManagerGUI;
-    private final MiniMessage miniMessage;
+    private final AtomicInteger pluginsVersion = new AtomicInteger();
     
     public PluginManagerService(DevSystem plugin) {
         this.plugin = plugin;
         this.pluginManager = Bukkit.getPluginManager();
-        this.miniMessage = plugin.getMiniMessage();
+        this.pluginIndex = new PluginIndex(pluginManager);
+        this.dependencyGraph = new DependencyGraph(pluginIndex);
+        this.dataFolderScanner = new DataFolderScanner(plugin);
+        this.jarInfoCache = new JarInfoCache(task -> plugin.getServer().getAsyncScheduler().runNow(plugin, scheduled -> task.run()));
+        for (Plugin registered : pluginManager.getPlugins()) {
+            dependencyGraph.add(registered);
+        }
+        // Profilers attribute frames by jar package, list them before the first sample needs them
+        plugin.getServer().getAsyncScheduler().runNow(plugin, task -> getPlugins().forEach(this::getPackages));
         
         initGUI();
+        plugin.getServer().getPluginManager().registerEvents(new PluginStateListener(this), plugin);
     }
     
     private void initGUI() {
         this.pluginManagerGUI = new PluginManagerGUI(plugin, this);
     }
     
+    /**
+     * Called whenever a plugin has been enabled or disabled.
+     */
+    void onPluginStateChange(Plugin target) {
+        pluginsVersion.incrementAndGet();
+        pluginIndex.add(target);
+        dependencyGraph.add(target);
+        dataFolderScanner.invalidate(target);
+        listenerIndex.invalidate();
+        pluginManagerGUI.invalidatePlugin(target);
+    }
+    
     public void openPluginManagerGUI(Player player) {
         pluginManagerGUI.openMainGUI(player);
     }
     
+    /**
+     * @return a number that changes whenever a plugin is loaded, enabled or disabled, for caches
+     * holding plugin instances
+     */
+    public int getPluginsVersion() {
+        return pluginsVersion.get();
+    }
+
     public List<Plugin> getPlugins() {
         return Arrays.asList(pluginManager.getPlugins());
     }
     
+    /**
+     * @param name a plugin name or {@code provides} alias, in any case
+     */
     public Plugin getPlugin(String name) {
-        for (Plugin plugin : pluginManager.getPlugins()) {
-            if (plugin.getName().equalsIgnoreCase(name)) {
-                return plugin;
-            }
-        }
-        return null;
+        return pluginIndex.get(name);
     }
 
     public Plugin loadPluginFromJar(File jar, Player player) {
         try {
             if (jar == null || !jar.exists() || !jar.isFile() || !jar.getName().toLowerCase().endsWith(".jar")) {
                 if (player != null) {
-                    player.sendMessage(miniMessage.deserialize(
-                        plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-not-found",
-                            "<prefix><red>Plugin not found</red><dark_gray>: {plugin}")
-                            .replace("{plugin}", jar != null ? jar.getName() : "-")
-                    ));
+                    player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-found",
+                        "<prefix><red>Plugin not found</red><dark_gray>: {plugin}")
+                        .render("plugin", jar != null ? jar.getName() : "-"));
                 }
                 return null;
             }
@@ -85,11 +123,9 @@ public class PluginManagerService {
 
             if (loaded == null) {
                 if (player != null) {
-                    player.sendMessage(miniMessage.deserialize(
-                        plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-failed",
-                            "<prefix><red>Failed to load plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
-                            .replace("{plugin}", jar.getName())
-                    ));
+                    player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.load-failed",
+                        "<prefix><red>Failed to load plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
+                        .render("plugin", jar.getName()));
                 }
                 return null;
             }
@@ -97,32 +133,29 @@ public class PluginManagerService {
             Plugin existing = getPlugin(loaded.getName());
             if (existing != null && existing != loaded) {
                 if (player != null) {
-                    player.sendMessage(miniMessage.deserialize(
-                        plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-already-enabled",
-                            "<prefix><red>Plugin is already enabled</red><dark_gray>: {plugin}</dark_gray></red>")
-                            .replace("{plugin}", existing.getName())
-                    ));
+                    player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-already-enabled",
+                        "<prefix><red>Plugin is already enabled</red><dark_gray>: {plugin}</dark_gray></red>")
+                        .render("plugin", existing.getName()));
                 }
                 return null;
             }
 
+            pluginsVersion.incrementAndGet();
+            pluginIndex.add(loaded);
+            dependencyGraph.add(loaded);
             pluginManager.enablePlugin(loaded);
 
             if (player != null) {
-                player.sendMessage(miniMessage.deserialize(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-enabled",
-                        "<prefix><white>Plugin <green>{plugin}</green> has been enabled!</white>")
-                        .replace("{plugin}", loaded.getName())
-                ));
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-enabled",
+                    "<prefix><white>Plugin <green>{plugin}</green> has been enabled!</white>")
+                    .render("plugin", loaded.getName()));
             }
             return loaded;
         } catch (Throwable t) {
             if (player != null) {
-                player.sendMessage(miniMessage.deserialize(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-exception",
-                        "<prefix><red>Exception while loading plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
-                        .replace("{plugin}", jar != null ? jar.getName() : "-")
-                ));
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.load-exception",
+                    "<prefix><red>Exception while loading plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
+                    .render("plugin", jar != null ? jar.getName() : "-"));
             }
             return null;
         }
@@ -149,104 +182,113 @@ public class PluginManagerService {
     }
 
     public String getJarPath(Plugin p) {
-        try {
-            URL url = p.getClass().getProtectionDomain().getCodeSource().getLocation();
-            if (url == null) return "unknown";
-            String path = URLDecoder.decode(url.getPath(), StandardCharsets.UTF_8);
-            return path;
-        } catch (Throwable t) { return "unknown"; }
+        String path = jarInfoCache.getJarPath(p);
+        return path != null ? path : "unknown";
+    }
+
+    /**
+     * @return the packages holding classes in the plugin's jar
+     */
+    public Set<String> getPackages(Plugin p) {
+        return jarInfoCache.packages(p);
     }
 
     public long getJarSizeBytes(Plugin p) {
-        try {
-            File f = new File(getJarPath(p));
-            return f.isFile() ? f.length() : -1L;
-        } catch (Throwable t) { return -1L; }
+        JarInfoCache.JarInfo info = jarInfoCache.get(p);
+        return info != null ? info.size() : -1L;
     }
 
+    /**
+     * @return the cached data folder size, or -1 while the folder is being scanned
+     */
     public long getDataFolderSizeBytes(Plugin p) {
-        File dir = p.getDataFolder();
-        return dir != null ? folderSize(dir) : -1L;
+        DataFolderScanner.Scan scan = dataFolderScanner.getCached(p);
+        return scan != null ? scan.sizeBytes() : -1L;
     }
 
+    /**
+     * @return the cached data folder file count, or -1 while the folder is being scanned
+     */
     public int getDataFolderFileCount(Plugin p) {
-        File dir = p.getDataFolder();
-        return dir != null ? fileCount(dir) : 0;
+        DataFolderScanner.Scan scan = dataFolderScanner.getCached(p);
+        return scan != null ? scan.fileCount() : -1;
     }
 
-    private long folderSize(File f) {
-        if (f == null || !f.exists()) return 0L;
-        if (f.isFile()) return f.length();
-        long total = 0L;
-        File[] list = f.listFiles();
-        if (list == null) return 0L;
-        for (File c : list) total += folderSize(c);
-        return total;
+    /**
+     * Sends the data folder line. While the folder is still being scanned a placeholder line is sent
+     * and the real one follows on the player's scheduler once the scan finished.
+     */
+    public void sendDataFolderInfo(Plugin target, Player player, boolean largest) {
+        DataFolderScanner.Scan scan = dataFolderScanner.getCached(target);
+        if (scan != null) {
+            sendDataFolderInfo(target, player, scan, largest);
+            return;
+        }
+
+        File df = target.getDataFolder();
+        Component calculating = plugin.getConfigManager().template(player, "plugin-manager.calculating", "<gray>calculating…</gray>").render();
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-data",
+            "<white>DataFolder: <green>{path}</green> <gray>({files} files, {size} bytes)</gray></white>")
+            .render("path", (df != null ? df.getAbsolutePath() : "-"), "files", calculating, "size", calculating));
+        dataFolderScanner.scan(target).thenAccept(result -> player.getScheduler().run(plugin,
+            task -> sendDataFolderInfo(target, player, result, largest), null));
     }
 
-    private int fileCount(File f) {
-        if (f == null || !f.exists()) return 0;
-        if (f.isFile()) return 1;
-        int total = 0;
-        File[] list = f.listFiles();
-        if (list == null) return 0;
-        for (File c : list) total += fileCount(c);
-        return total;
+    private void sendDataFolderInfo(Plugin target, Player player, DataFolderScanner.Scan scan, boolean largest) {
+        File df = target.getDataFolder();
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-data",
+            "<white>DataFolder: <green>{path}</green> <gray>({files} files, {size} bytes)</gray></white>")
+            .render("path", (df != null ? df.getAbsolutePath() : "-"), "files", String.valueOf(scan.fileCount()), "size", String.valueOf(scan.sizeBytes())));
+        if (!largest) return;
+
+        MessageTemplate entryFormat = plugin.getConfigManager().template(player, "plugin-manager.info-data-largest",
+            "<gray>  {path} ({size} bytes)</gray>");
+        for (DataFolderScanner.Entry entry : scan.largest()) {
+            player.sendMessage(entryFormat.render("path", entry.path(), "size", String.valueOf(entry.size())));
+        }
     }
 
     public int getListenerCount(Plugin p) {
-        try {
-            int count = 0;
-            for (org.bukkit.plugin.RegisteredListener l : org.bukkit.event.HandlerList.getRegisteredListeners(p)) {
-                if (l.getPlugin() == p) count++;
-            }
-            return count;
-        } catch (Throwable t) { return 0; }
+        return listenerIndex.getListeners(p).size();
     }
 
     public List<String> getListenerClassNames(Plugin p) {
         List<String> names = new ArrayList<>();
-        try {
-            for (org.bukkit.plugin.RegisteredListener l : org.bukkit.event.HandlerList.getRegisteredListeners(p)) {
-                if (l.getPlugin() == p) {
-                    String n = l.getListener().getClass().getSimpleName();
-                    if (!n.isEmpty() && !names.contains(n)) names.add(n);
-                }
-            }
-        } catch (Throwable ignored) {}
+        for (ListenerIndex.ListenerInfo listener : listenerIndex.getListeners(p)) {
+            String n = listener.listenerClass();
+            if (!n.isEmpty() && !names.contains(n)) names.add(n);
+        }
         return names;
     }
 
     public int getTaskCount(Plugin p) {
-        try {
-            return (int) Bukkit.getScheduler().getPendingTasks().stream().filter(t -> t.getOwner() == p).count();
-        } catch (Throwable t) { return 0; }
+        return taskIndex.getTasks(p).size();
     }
 
+    /**
+     * @return the task count for display, or "-" on Folia where tasks cannot be listed
+     */
+    public String getTaskCountText(Plugin p) {
+        return taskIndex.isAvailable() ? String.valueOf(getTaskCount(p)) : "-";
+    }
+
+    /**
+     * @return the ids of the plugin's Bukkit tasks
+     */
     public List<Integer> getTaskIds(Plugin p) {
         List<Integer> ids = new ArrayList<>();
-        try {
-            Bukkit.getScheduler().getPendingTasks().forEach(t -> { if (t.getOwner() == p) ids.add(t.getTaskId()); });
-        } catch (Throwable ignored) {}
+        for (TaskIndex.TaskInfo task : taskIndex.getTasks(p)) {
+            if (task.id() >= 0) ids.add(task.id());
+        }
         return ids;
     }
 
+    /**
+     * @return the plugins that depend or soft-depend directly on {@code target}
+     */
     public List<Plugin> getDependents(Plugin target) {
-        List<Plugin> dependents = new ArrayList<>();
-        if (target == null) return dependents;
-        String name = target.getName();
-        for (Plugin p : pluginManager.getPlugins()) {
-            if (p == target) continue;
-            try {
-                List<String> dep = p.getDescription().getDepend();
-                List<String> soft = p.getDescription().getSoftDepend();
-                if ((dep != null && dep.stream().anyMatch(d -> d.equalsIgnoreCase(name))) ||
-                    (soft != null && soft.stream().anyMatch(d -> d.equalsIgnoreCase(name)))) {
-                    dependents.add(p);
-                }
-            } catch (Throwable ignored) {}
-        }
-        return dependents;
+        if (target == null) return new ArrayList<>();
+        return dependencyGraph.getDependents(target);
     }
 
     public boolean enablePlugin(Plugin target, Player player) {
@@ -257,11 +299,9 @@ public class PluginManagerService {
         pluginManager.enablePlugin(target);
         
         if (player != null) {
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-enabled", 
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-enabled",
                 "<prefix><white>Plugin <green>{plugin}</green> has been enabled!</white>")
-                    .replace("{plugin}", target.getName())
-            ));
+                .render("plugin", target.getName()));
         }
         
         return true;
@@ -270,56 +310,62 @@ public class PluginManagerService {
     public boolean disablePlugin(Plugin target, Player player) {
         if (target == null || !target.isEnabled() || target.equals(plugin)) {
             if (target != null && target.equals(plugin) && player != null) {
-                player.sendMessage(miniMessage.deserialize(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.cannot-disable-self", 
-                    "<prefix><red>You cannot disable this plugin!</red>")
-                ));
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.cannot-disable-self",
+                    "<prefix><red>You cannot disable this plugin!</red>").render());
             }
             return false;
         }
         
-        boolean allowDisableCore = plugin.getConfigManager().getValue("config.yml", "plugin-manager.settings.allow-disable-core-plugins", false);
+        boolean allowDisableCore = plugin.getConfigManager().get(PluginManagerSettings.ALLOW_DISABLE_CORE_PLUGINS);
         if (!allowDisableCore && isSystemPlugin(target)) {
             if (player != null) {
-                player.sendMessage(miniMessage.deserialize(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.cannot-disable-core",
-                        "<prefix><red>Cannot disable core system plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
-                        .replace("{plugin}", target.getName())
-                ));
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.cannot-disable-core",
+                    "<prefix><red>Cannot disable core system plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
+                    .render("plugin", target.getName()));
             }
             return false;
         }
 
-        boolean blockIfDependents = plugin.getConfigManager().getValue("config.yml", "plugin-manager.settings.block-disable-with-dependents", true);
+        boolean blockIfDependents = plugin.getConfigManager().get(PluginManagerSettings.BLOCK_DISABLE_WITH_DEPENDENTS);
         List<Plugin> dependents = getDependents(target);
         if (blockIfDependents && !dependents.isEmpty()) {
             if (player != null) {
-                String list = dependents.stream().map(Plugin::getName).collect(Collectors.joining(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.list-separator", ", ")
-                ));
-                player.sendMessage(miniMessage.deserialize(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.cannot-disable-has-dependents", 
+                Component list = MessageTemplate.join(
+                    plugin.getConfigManager().template(player, "plugin-manager.list-separator", ", ").render(),
+                    dependents.stream().map(Plugin::getName).toList());
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.cannot-disable-has-dependents",
                     "<prefix><red>Cannot disable {plugin}, dependents: {dependents}</red>")
-                        .replace("{plugin}", target.getName())
-                        .replace("{dependents}", list.isEmpty() ? "-" : list)
-                ));
+                    .render("plugin", target.getName(), "dependents", list));
             }
             return false;
         }
         
+        warnIfUnderLoad(player);
         pluginManager.disablePlugin(target);
         
         if (player != null) {
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-disabled", 
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-disabled",
                 "<prefix><white>Plugin <red>{plugin}</red> has been disabled!</white>")
-                    .replace("{plugin}", target.getName())
-            ));
+                .render("plugin", target.getName()));
         }
         
         return true;
     }
     
+    /**
+     * Tells the player when the server is already struggling, since disabling and enabling plugins
+     * costs a long tick of its own.
+     */
+    private void warnIfUnderLoad(Player player) {
+        if (player == null) return;
+        double p95 = plugin.getTickMonitor().getMspt(TickMonitor.Window.MINUTE, 95.0);
+        if (p95 > plugin.getConfigManager().get(PluginManagerSettings.LOAD_WARN_MSPT)) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.high-load",
+                "<prefix><gold>The server is under load (p95 {mspt}ms over the last minute)</gold>")
+                .render("mspt", String.format(Locale.ROOT, "%.1f", p95)));
+        }
+    }
+
     private boolean isSystemPlugin(Plugin plugin) {
         String name = plugin.getName().toLowerCase();
         return name.equals("minecraft") || name.equals("bukkit") || 
@@ -330,33 +376,36 @@ public class PluginManagerService {
     public boolean reloadPlugin(Plugin target, Player player) {
         if (target == null || !target.isEnabled()) {
             if (player != null) {
-                player.sendMessage(miniMessage.deserialize(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-not-enabled", 
-                    "<prefix><red>Plugin is not enabled!</red>")
-                ));
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-enabled",
+                    "<prefix><red>Plugin is not enabled!</red>").render());
             }
             return false;
         }
         // Prevent reloading the core DevSystem plugin to avoid breaking the system
         if (target.getName().equalsIgnoreCase(plugin.getName())) {
             if (player != null) {
-                player.sendMessage(miniMessage.deserialize(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.cannot-reload-core", 
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.cannot-reload-core",
                     "<prefix><red>Cannot reload core system plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
-                        .replace("{plugin}", target.getName())
-                ));
+                    .render("plugin", target.getName()));
             }
             return false;
         }
-        boolean smartReload = plugin.getConfigManager().getValue("config.yml", "plugin-manager.settings.smart-reload", true);
+        warnIfUnderLoad(player);
+        boolean smartReload = plugin.getConfigManager().get(PluginManagerSettings.SMART_RELOAD);
         if (!smartReload) {
             pluginManager.disablePlugin(target);
             pluginManager.enablePlugin(target);
         } else {
-            List<Plugin> dependents = getDependents(target);
-            dependents.sort((a,b) -> a.getName().compareToIgnoreCase(b.getName()));
-            for (Plugin dep : dependents) {
-                if (dep.isEnabled()) pluginManager.disablePlugin(dep);
+            List<String> cycle = dependencyGraph.findCycle(target);
+            if (!cycle.isEmpty()) {
+                plugin.getLogger().warning("Dependency cycle while reloading " + target.getName() + ": " + String.join(" -> ", cycle));
+            }
+
+            // Enable order: every dependent after its dependencies; disable in reverse
+            List<Plugin> dependents = new ArrayList<>(dependencyGraph.getTransitiveDependents(target));
+            dependents.removeIf(dep -> !dep.isEnabled());
+            for (int i = dependents.size() - 1; i >= 0; i--) {
+                pluginManager.disablePlugin(dependents.get(i));
             }
             pluginManager.disablePlugin(target);
             pluginManager.enablePlugin(target);
@@ -366,11 +415,9 @@ public class PluginManagerService {
         }
         
         if (player != null) {
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-reloaded", 
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-reloaded",
                 "<prefix><white>Plugin <yellow>{plugin}</yellow> has been reloaded!</white>")
-                    .replace("{plugin}", target.getName())
-            ));
+                .render("plugin", target.getName()));
         }
         
         return true;
@@ -381,139 +428,111 @@ public class PluginManagerService {
             return;
         }
         
-        Component header = miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-header", 
+        Component header = plugin.getConfigManager().template(player, "plugin-manager.info-header",
             "<gradient:green:blue>Plugin Information: {plugin}</gradient>")
-                .replace("{plugin}", target.getName())
-        );
+            .render("plugin", target.getName());
         
         player.sendMessage(header);
         player.sendMessage(Component.empty());
         
-        String enabledText = target.isEnabled() 
-            ? plugin.getConfigManager().getValue("config.yml", "plugin-manager.status-enabled", "<green>Enabled</green>")
-            : plugin.getConfigManager().getValue("config.yml", "plugin-manager.status-disabled", "<red>Disabled</red>");
+        Component enabledText = target.isEnabled() 
+            ? plugin.getConfigManager().template(player, "plugin-manager.status-enabled", "<green>Enabled</green>").render()
+            : plugin.getConfigManager().template(player, "plugin-manager.status-disabled", "<red>Disabled</red>").render();
             
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-name", "<white>Name: <green>{name}</green></white>")
-                .replace("{name}", target.getName())
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-name",
+            "<white>Name: <green>{name}</green></white>")
+            .render("name", target.getName()));
         
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-version", "<white>Version: <green>{version}</green></white>")
-                .replace("{version}", target.getDescription().getVersion())
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-version",
+            "<white>Version: <green>{version}</green></white>")
+            .render("version", target.getDescription().getVersion()));
 
         String authorName = "Unknown";
         if (target.getDescription().getAuthors() != null && !target.getDescription().getAuthors().isEmpty()) {
             authorName = String.join(", ", target.getDescription().getAuthors());
         }
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-authors", "<white>Author(s): <green>{authors}</green></white>")
-                .replace("{authors}", authorName)
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-authors",
+            "<white>Author(s): <green>{authors}</green></white>")
+            .render("authors", authorName));
         
         String desc = "No description available";
         if (target.getDescription().getDescription() != null) {
             desc = target.getDescription().getDescription();
         }
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-description", "<white>Description: <green>{description}</green></white>")
-                .replace("{description}", desc)
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-description",
+            "<white>Description: <green>{description}</green></white>")
+            .render("description", desc));
         
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-status", "<white>Status: {status}</white>")
-                .replace("{status}", enabledText)
-        ));
-
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-api", "<white>API: <green>{api}</green></white>")
-                .replace("{api}", getApiVersion(target))
-        ));
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-load", "<white>Load: <green>{load}</green></white>")
-                .replace("{load}", getLoadPhase(target))
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-status",
+            "<white>Status: {status}</white>")
+            .render("status", enabledText));
+
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-api",
+            "<white>API: <green>{api}</green></white>")
+            .render("api", getApiVersion(target)));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-load",
+            "<white>Load: <green>{load}</green></white>")
+            .render("load", getLoadPhase(target)));
 
         List<String> provides = getProvides(target);
         String providesJoined = provides.isEmpty() ? "None" : String.join(", ", provides);
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-provides", "<white>Provides: <green>{provides}</green></white>")
-                .replace("{provides}", providesJoined)
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-provides",
+            "<white>Provides: <green>{provides}</green></white>")
+            .render("provides", providesJoined));
 
         List<String> deps = target.getDescription().getDepend();
         List<String> soft = target.getDescription().getSoftDepend();
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-deps", "<white>Depends: <green>{deps}</green></white>")
-                .replace("{deps}", (deps != null && !deps.isEmpty()) ? String.join(", ", deps) : "None")
-        ));
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-softdeps", "<white>SoftDepends: <green>{soft}</green></white>")
-                .replace("{soft}", (soft != null && !soft.isEmpty()) ? String.join(", ", soft) : "None")
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-deps",
+            "<white>Depends: <green>{deps}</green></white>")
+            .render("deps", (deps != null && !deps.isEmpty()) ? String.join(", ", deps) : "None"));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-softdeps",
+            "<white>SoftDepends: <green>{soft}</green></white>")
+            .render("soft", (soft != null && !soft.isEmpty()) ? String.join(", ", soft) : "None"));
 
         String jarPath = getJarPath(target);
         long jarSize = getJarSizeBytes(target);
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-jar", "<white>JAR: <green>{path}</green> <gray>({size} bytes)</gray></white>")
-                .replace("{path}", jarPath)
-                .replace("{size}", String.valueOf(Math.max(jarSize, 0)))
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-jar",
+            "<white>JAR: <green>{path}</green> <gray>({size} bytes)</gray></white>")
+            .render("path", jarPath, "size", String.valueOf(Math.max(jarSize, 0))));
 
-        File df = target.getDataFolder();
-        long dfSize = getDataFolderSizeBytes(target);
-        int dfCount = getDataFolderFileCount(target);
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-data", "<white>DataFolder: <green>{path}</green> <gray>({files} files, {size} bytes)</gray></white>")
-                .replace("{path}", (df != null ? df.getAbsolutePath() : "-") )
-                .replace("{files}", String.valueOf(dfCount))
-                .replace("{size}", String.valueOf(Math.max(dfSize, 0)))
-        ));
+        sendDataFolderInfo(target, player, false);
 
         int listeners = getListenerCount(target);
-        int tasks = getTaskCount(target);
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-listeners-count", "<white>Listeners: <green>{count}</green></white>")
-                .replace("{count}", String.valueOf(listeners))
-        ));
-        player.sendMessage(miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-tasks-count", "<white>Tasks: <green>{count}</green></white>")
-                .replace("{count}", String.valueOf(tasks))
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-listeners-count",
+            "<white>Listeners: <green>{count}</green></white>")
+            .render("count", String.valueOf(listeners)));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-tasks-count",
+            "<white>Tasks: <green>{count}</green></white>")
+            .render("count", getTaskCountText(target)));
     }
     
     public void listPlugins(Player player) {
         List<Plugin> plugins = getPlugins();
         int enabledCount = (int) plugins.stream().filter(Plugin::isEnabled).count();
         
-        Component header = miniMessage.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.list-header", 
+        Component header = plugin.getConfigManager().template(player, "plugin-manager.list-header",
             "<gradient:green:blue>Plugin List</gradient> <gray>({enabled}/{total})</gray>")
-                .replace("{enabled}", String.valueOf(enabledCount))
-                .replace("{total}", String.valueOf(plugins.size()))
-        );
+            .render("enabled", String.valueOf(enabledCount), "total", String.valueOf(plugins.size()));
         
         player.sendMessage(header);
         player.sendMessage(Component.empty());
         
-        boolean showVersion = plugin.getConfigManager().getValue("config.yml", "plugin-manager.settings.show-plugin-version-in-list", true);
-        String enabledFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.list-format-enabled", "<green>{plugin}</green>");
-        String disabledFormat = plugin.getConfigManager().getValue("config.yml", "plugin-manager.list-format-disabled", "<red>{plugin}</red>");
-        String separator = plugin.getConfigManager().getValue("config.yml", "plugin-manager.list-separator", "<gray>, </gray>");
+        boolean showVersion = plugin.getConfigManager().get(PluginManagerSettings.SHOW_PLUGIN_VERSION_IN_LIST);
+        MessageTemplate enabledFormat = plugin.getConfigManager().template(player, "plugin-manager.list-format-enabled", "<green>{plugin}</green>");
+        MessageTemplate disabledFormat = plugin.getConfigManager().template(player, "plugin-manager.list-format-disabled", "<red>{plugin}</red>");
+        Component separator = plugin.getConfigManager().template(player, "plugin-manager.list-separator", "<gray>, </gray>").render();
         
-        String pluginList = plugins.stream()
+        List<Component> entries = plugins.stream()
             .map(p -> {
-                String template = p.isEnabled() ? enabledFormat : disabledFormat;
+                MessageTemplate template = p.isEnabled() ? enabledFormat : disabledFormat;
                 String name = p.getName();
                 if (showVersion) {
                     name += " (" + p.getDescription().getVersion() + ")";
                 }
-                return template.replace("{plugin}", name);
+                return template.render("plugin", name);
             })
-            .collect(Collectors.joining(separator));
+            .toList();
             
-        player.sendMessage(miniMessage.deserialize(pluginList));
+        player.sendMessage(MessageTemplate.join(separator, entries));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,33 @@
+package de.steyon.devSystem.pluginmanager;
+
+import de.steyon.devSystem.config.ConfigKey;
+
+import java.util.List;
+
+/**
+ * Keys of the {@code plugin-manager.settings} section in config.yml.
+ */
+public final class PluginManagerSettings {
+
+    private static final String SECTION = "plugin-manager.settings.";
+
+    public static final ConfigKey<Boolean> ALLOW_DISABLE_CORE_PLUGINS = ConfigKey.bool(SECTION + "allow-disable-core-plugins", false);
+    public static final ConfigKey<Boolean> SHOW_PLUGIN_VERSION_IN_LIST = ConfigKey.bool(SECTION + "show-plugin-version-in-list", true);
+    public static final ConfigKey<Boolean> CONFIRM_RELOAD_ALL = ConfigKey.bool(SECTION + "confirm-reload-all", true);
+    public static final ConfigKey<Integer> RELOAD_TIMEOUT_SECONDS = ConfigKey.integer(SECTION + "reload-timeout-seconds", 10);
+    public static final ConfigKey<Boolean> BLOCK_DISABLE_WITH_DEPENDENTS = ConfigKey.bool(SECTION + "block-disable-with-dependents", true);
+    public static final ConfigKey<Boolean> SMART_RELOAD = ConfigKey.bool(SECTION + "smart-reload", true);
+    public static final ConfigKey<Boolean> LOAD_ALLOW_URL = ConfigKey.bool(SECTION + "load-allow-url", true);
+    public static final ConfigKey<Boolean> LOAD_ALLOW_LOCAL = ConfigKey.bool(SECTION + "load-allow-local", true);
+    public static final ConfigKey<Boolean> LOAD_BLOCK_MISSING_DEPS = ConfigKey.bool(SECTION + "load-block-missing-deps", true);
+    public static final ConfigKey<Boolean> LOAD_GUI_BUTTON_ENABLED = ConfigKey.bool(SECTION + "load-gui-button-enabled", true);
+    public static final ConfigKey<List<String>> HOT_EVENTS = ConfigKey.stringList(SECTION + "hot-events",
+        List.of("PlayerMoveEvent", "EntityMoveEvent", "BlockPhysicsEvent", "ChunkLoadEvent", "ServerTickStartEvent"));
+    public static final ConfigKey<Integer> DATA_SCAN_TTL_SECONDS = ConfigKey.integer(SECTION + "data-scan-ttl-seconds", 60);
+    public static final ConfigKey<Integer> PROFILE_MAX_SECONDS = ConfigKey.integer(SECTION + "profile-max-seconds", 300);
+    public static final ConfigKey<Integer> PROFILE_SAMPLE_INTERVAL_MILLIS = ConfigKey.integer(SECTION + "profile-sample-interval-millis", 10);
+    public static final ConfigKey<Integer> LOAD_WARN_MSPT = ConfigKey.integer(SECTION + "load-warn-mspt", 50);
+
+    private PluginManagerSettings() {
+    }
+}
@@ -0,0 +1,30 @@
+package de.steyon.devSystem.pluginmanager;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.event.server.PluginEnableEvent;
+
+/**
+ * Forwards plugin enable/disable events to the service, whether they were triggered
+ * by DevSystem itself or by the server and other plugins.
+ */
+public class PluginStateListener implements Listener {
+
+    private final PluginManagerService service;
+
+    public PluginStateListener(PluginManagerService service) {
+        this.service = service;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginEnable(PluginEnableEvent event) {
+        service.onPluginStateChange(event.getPlugin());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPluginDisable(PluginDisableEvent event) {
+        service.onPluginStateChange(event.getPlugin());
+    }
+}
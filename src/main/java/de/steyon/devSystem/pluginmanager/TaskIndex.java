@@ -0,0 +1,119 @@
+package de.steyon.devSystem.pluginmanager;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pending scheduler tasks grouped by owning plugin.
+ * <p>
+ * The pending task list is copied at most once per tick and shared by every query in that tick.
+ * Folia's schedulers have no API to list pending tasks and its Bukkit scheduler is unsupported,
+ * so on Folia the index stays empty and {@link #isAvailable()} is false.
+ */
+public class TaskIndex {
+
+    private static final boolean FOLIA = isFolia();
+
+    private final Map<Plugin, List<TaskInfo>> byOwner = new HashMap<>();
+    private final Map<Class<?>, Method[]> getters = new HashMap<>();
+    private int snapshotTick = Integer.MIN_VALUE;
+
+    /**
+     * @param id the Bukkit task id
+     * @param scheduler the scheduler the task is pending in, {@code bukkit}
+     * @param sync whether the task runs on the main thread
+     * @param period the period in ticks, -1 if it runs once, or -2 if unknown
+     * @param nextRun ticks until the next run, or -1 if unknown
+     */
+    public record TaskInfo(int id, String scheduler, boolean sync, long period, long nextRun) {
+    }
+
+    /**
+     * @return false on Folia, where pending tasks cannot be listed
+     */
+    public boolean isAvailable() {
+        return !FOLIA;
+    }
+
+    /**
+     * @return the pending tasks of the plugin in this tick's snapshot
+     */
+    public synchronized List<TaskInfo> getTasks(Plugin owner) {
+        refresh();
+        return byOwner.getOrDefault(owner, List.of());
+    }
+
+    /**
+     * @return the pending tasks of every plugin in this tick's snapshot
+     */
+    public synchronized Map<Plugin, List<TaskInfo>> getAllTasks() {
+        refresh();
+        return Collections.unmodifiableMap(new HashMap<>(byOwner));
+    }
+
+    private void refresh() {
+        if (FOLIA) return;
+        int tick = Bukkit.getCurrentTick();
+        if (tick == snapshotTick) return;
+        snapshotTick = tick;
+
+        byOwner.clear();
+        try {
+            for (BukkitTask task : Bukkit.getScheduler().getPendingTasks()) {
+                if (task.isCancelled()) continue;
+                Method[] taskGetters = getters.computeIfAbsent(task.getClass(), type ->
+                    new Method[] {findGetter(type, "getPeriod"), findGetter(type, "getNextRun")});
+                long nextRun = invoke(taskGetters[1], task);
+                add(task.getOwner(), new TaskInfo(task.getTaskId(), "bukkit", task.isSync(),
+                    taskGetters[0] != null ? invoke(taskGetters[0], task) : -2L, nextRun >= 0 ? Math.max(0, nextRun - tick) : -1));
+            }
+        } catch (UnsupportedOperationException ignored) {
+        }
+        byOwner.replaceAll((owner, tasks) -> List.copyOf(tasks));
+    }
+
+    private void add(Plugin owner, TaskInfo info) {
+        byOwner.computeIfAbsent(owner, ignored -> new ArrayList<>()).add(info);
+    }
+
+    private static long invoke(Method getter, BukkitTask task) {
+        if (getter == null) return -1L;
+        try {
+            return (long) getter.invoke(task);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return -1L;
+        }
+    }
+
+    private static Method findGetter(Class<?> type, String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                Method method = current.getDeclaredMethod(name);
+                if (method.getReturnType() != long.class) return null;
+                method.setAccessible(true);
+                return method;
+            } catch (NoSuchMethodException ignored) {
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package de.steyon.devSystem.pluginmanager.commands;
 
 import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
 import de.steyon.devSystem.pluginmanager.PluginManagerService;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
@@ -14,12 +15,10 @@ public class DepsCommand implements SubCommand {
 
     private final DevSystem plugin;
     private final PluginManagerService service;
-    private final MiniMessage mm;
 
     public DepsCommand(DevSystem plugin, PluginManagerService service) {
         this.plugin = plugin;
         this.service = service;
-        this.mm = plugin.getMiniMessage();
     }
 
     @Override
@@ -43,53 +42,47 @@ public class DepsCommand implements SubCommand {
     @Override
     public void execute(Player player, String[] args) {
         if (args.length < 1) {
-            String usage = plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-usage.deps", "/plugmanager deps <plugin>");
-            player.sendMessage(mm.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "messages.command.usage", "<prefix><red>Usage: {usage}</red>")
-                    .replace("{usage}", usage)
-            ));
+            Component usage = plugin.getConfigManager().template(player, "plugin-manager.command-usage.deps", "/plugmanager deps <plugin>").render();
+            player.sendMessage(plugin.getConfigManager().template(player, "messages.command.usage",
+                "<prefix><red>Usage: {usage}</red>")
+                .render("usage", usage));
             return;
         }
         String name = args[0];
         Plugin target = service.getPlugin(name);
         if (target == null) {
-            player.sendMessage(mm.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-not-found", "<prefix><red>Plugin not found: {plugin}</red>")
-                    .replace("{plugin}", name)
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-found",
+                "<prefix><red>Plugin not found: {plugin}</red>")
+                .render("plugin", name));
             return;
         }
         List<String> deps = target.getDescription().getDepend();
         List<String> soft = target.getDescription().getSoftDepend();
         List<Plugin> dependents = service.getDependents(target);
 
-        String sep = plugin.getConfigManager().getValue("config.yml", "plugin-manager.list-separator", ", ");
-        String depsStr = (deps != null && !deps.isEmpty()) ? String.join(sep, deps) : "None";
-        String softStr = (soft != null && !soft.isEmpty()) ? String.join(sep, soft) : "None";
-        String dependentsStr = dependents.isEmpty() ? "None" : dependents.stream().map(Plugin::getName).collect(Collectors.joining(sep));
+        Component sep = plugin.getConfigManager().template(player, "plugin-manager.list-separator", ", ").render();
+        Component depsStr = (deps != null && !deps.isEmpty()) ? MessageTemplate.join(sep, deps) : Component.text("None");
+        Component softStr = (soft != null && !soft.isEmpty()) ? MessageTemplate.join(sep, soft) : Component.text("None");
+        Component dependentsStr = dependents.isEmpty() ? Component.text("None") : MessageTemplate.join(sep, dependents.stream().map(Plugin::getName).toList());
 
-        player.sendMessage(mm.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.deps-header", "<aqua><bold>Dependencies</bold></aqua> <gray>for</gray> <green>{plugin}</green>")
-                .replace("{plugin}", target.getName())
-        ));
-        player.sendMessage(mm.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-deps", "<white>Depends: <green>{deps}</green></white>")
-                .replace("{deps}", depsStr)
-        ));
-        player.sendMessage(mm.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.info-softdeps", "<white>SoftDepends: <green>{soft}</green></white>")
-                .replace("{soft}", softStr)
-        ));
-        player.sendMessage(mm.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.deps-reverse", "<white>Dependents: <green>{dependents}</green></white>")
-                .replace("{dependents}", dependentsStr)
-        ));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.deps-header",
+            "<aqua><bold>Dependencies</bold></aqua> <gray>for</gray> <green>{plugin}</green>")
+            .render("plugin", target.getName()));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-deps",
+            "<white>Depends: <green>{deps}</green></white>")
+            .render("deps", depsStr));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.info-softdeps",
+            "<white>SoftDepends: <green>{soft}</green></white>")
+            .render("soft", softStr));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.deps-reverse",
+            "<white>Dependents: <green>{dependents}</green></white>")
+            .render("dependents", dependentsStr));
     }
 
     @Override
     public List<String> tabComplete(Player player, String[] args) {
         if (args.length == 1) {
-            return service.getPlugins().stream().map(Plugin::getName).collect(Collectors.toList());
+            return service.getPluginIndex().complete(args[0]).stream().map(Plugin::getName).collect(Collectors.toList());
         }
         return new ArrayList<>();
     }
@@ -2,7 +2,7 @@ package de.steyon.devSystem.pluginmanager.commands;
 
 import de.steyon.devSystem.DevSystem;
 import de.steyon.devSystem.pluginmanager.PluginManagerService;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
@@ -14,12 +14,10 @@ public class DisableCommand implements SubCommand {
 
     private final DevSystem plugin;
     private final PluginManagerService service;
-    private final MiniMessage miniMessage;
     
     public DisableCommand(DevSystem plugin, PluginManagerService service) {
         this.plugin = plugin;
         this.service = service;
-        this.miniMessage = plugin.getMiniMessage();
     }
 
     @Override
@@ -47,11 +45,10 @@ public class DisableCommand implements SubCommand {
     @Override
     public void execute(Player player, String[] args) {
         if (args.length < 1) {
-            String usage = plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-usage.disable", "/plugmanager disable <plugin>");
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "messages.command.usage", "<prefix><red>Usage: {usage}</red>")
-                    .replace("{usage}", usage)
-            ));
+            Component usage = plugin.getConfigManager().template(player, "plugin-manager.command-usage.disable", "/plugmanager disable <plugin>").render();
+            player.sendMessage(plugin.getConfigManager().template(player, "messages.command.usage",
+                "<prefix><red>Usage: {usage}</red>")
+                .render("usage", usage));
             return;
         }
         
@@ -59,26 +56,22 @@ public class DisableCommand implements SubCommand {
         Plugin target = service.getPlugin(pluginName);
         
         if (target == null) {
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-not-found", "<prefix><red>Plugin not found: {plugin}</red>")
-                    .replace("{plugin}", pluginName)
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-found",
+                "<prefix><red>Plugin not found: {plugin}</red>")
+                .render("plugin", pluginName));
             return;
         }
         
         if (!target.isEnabled()) {
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-already-disabled", "<prefix><red>Plugin is already disabled: {plugin}</red>")
-                    .replace("{plugin}", pluginName)
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-already-disabled",
+                "<prefix><red>Plugin is already disabled: {plugin}</red>")
+                .render("plugin", pluginName));
             return;
         }
         
         if (target.equals(plugin)) {
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.cannot-disable-self", 
-                "<gradient:green:blue>DevSystem</gradient> <dark_gray>»</dark_gray> <red>You cannot disable this plugin!</red>")
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.cannot-disable-self",
+                "<gradient:green:blue>DevSystem</gradient> <dark_gray>»</dark_gray> <red>You cannot disable this plugin!</red>").render());
             return;
         }
         
@@ -88,7 +81,7 @@ public class DisableCommand implements SubCommand {
     @Override
     public List<String> tabComplete(Player player, String[] args) {
         if (args.length == 1) {
-            return service.getPlugins().stream()
+            return service.getPluginIndex().complete(args[0]).stream()
                 .filter(Plugin::isEnabled)
                 .filter(p -> !p.equals(plugin)) // Don't suggest disabling DevSystem
                 .map(Plugin::getName)
@@ -2,7 +2,7 @@ package de.steyon.devSystem.pluginmanager.commands;
 
 import de.steyon.devSystem.DevSystem;
 import de.steyon.devSystem.pluginmanager.PluginManagerService;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
@@ -14,12 +14,10 @@ public class EnableCommand implements SubCommand {
 
     private final DevSystem plugin;
     private final PluginManagerService service;
-    private final MiniMessage miniMessage;
     
     public EnableCommand(DevSystem plugin, PluginManagerService service) {
         this.plugin = plugin;
         this.service = service;
-        this.miniMessage = plugin.getMiniMessage();
     }
 
     @Override
@@ -47,11 +45,10 @@ public class EnableCommand implements SubCommand {
     @Override
     public void execute(Player player, String[] args) {
         if (args.length < 1) {
-            String usage = plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-usage.enable", "/plugmanager enable <plugin>");
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "messages.command.usage", "<prefix><red>Usage: {usage}</red>")
-                    .replace("{usage}", usage)
-            ));
+            Component usage = plugin.getConfigManager().template(player, "plugin-manager.command-usage.enable", "/plugmanager enable <plugin>").render();
+            player.sendMessage(plugin.getConfigManager().template(player, "messages.command.usage",
+                "<prefix><red>Usage: {usage}</red>")
+                .render("usage", usage));
             return;
         }
         
@@ -59,18 +56,16 @@ public class EnableCommand implements SubCommand {
         Plugin target = service.getPlugin(pluginName);
         
         if (target == null) {
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-not-found", "<prefix><red>Plugin not found: {plugin}</red>")
-                    .replace("{plugin}", pluginName)
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-found",
+                "<prefix><red>Plugin not found: {plugin}</red>")
+                .render("plugin", pluginName));
             return;
         }
         
         if (target.isEnabled()) {
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-already-enabled", "<prefix><red>Plugin is already enabled: {plugin}</red>")
-                    .replace("{plugin}", pluginName)
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-already-enabled",
+                "<prefix><red>Plugin is already enabled: {plugin}</red>")
+                .render("plugin", pluginName));
             return;
         }
         
@@ -80,7 +75,7 @@ public class EnableCommand implements SubCommand {
     @Override
     public List<String> tabComplete(Player player, String[] args) {
         if (args.length == 1) {
-            return service.getPlugins().stream()
+            return service.getPluginIndex().complete(args[0]).stream()
                 .filter(p -> !p.isEnabled())
                 .map(Plugin::getName)
                 .collect(Collectors.toList());
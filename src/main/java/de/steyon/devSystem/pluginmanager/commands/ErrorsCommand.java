@@ -0,0 +1,110 @@
+package de.steyon.devSystem.pluginmanager.commands;
+
+import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
+import de.steyon.devSystem.stacktrace.ErrorAggregator;
+import de.steyon.devSystem.stacktrace.ErrorFingerprint;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class ErrorsCommand implements SubCommand {
+
+    private static final int LISTED_ERRORS = 10;
+
+    private final DevSystem plugin;
+
+    public ErrorsCommand(DevSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() { return "errors"; }
+
+    @Override
+    public String getDescription() {
+        return plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-help.errors", "Shows the most frequent logged errors");
+    }
+
+    @Override
+    public String getPermission() { return "devsystem.pluginmanager.errors"; }
+
+    @Override
+    public List<String> getAliases() {
+        List<String> a = new ArrayList<>();
+        a.add("err");
+        return a;
+    }
+
+    @Override
+    public void execute(Player player, String[] args) {
+        ErrorAggregator aggregator = plugin.getErrorAggregator();
+        if (aggregator == null) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.errors-disabled",
+                "<prefix><red>The error aggregator is disabled</red>").render());
+            return;
+        }
+
+        String pluginName = args.length > 0 ? args[0] : null;
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.errors-header",
+            "<aqua><bold>Errors</bold></aqua> <gray>({count} fingerprints)</gray>")
+            .render("count", String.valueOf(aggregator.getFingerprintCount())));
+
+        if (pluginName == null) {
+            Map<String, Long> counts = aggregator.getCountsByPlugin();
+            if (!counts.isEmpty()) {
+                MessageTemplate pluginFormat = plugin.getConfigManager().template(player, "plugin-manager.errors-plugin-entry", "{plugin} x{count}");
+                List<Component> entries = new ArrayList<>();
+                counts.forEach((name, count) -> entries.add(pluginFormat.render("plugin", name, "count", String.valueOf(count))));
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.errors-plugins",
+                    "<gray>Plugins: {plugins}</gray>")
+                    .render("plugins", MessageTemplate.join(plugin.getConfigManager().template(player, "plugin-manager.list-separator", ", ").render(), entries)));
+            }
+        }
+
+        List<ErrorFingerprint> top = aggregator.getTop(pluginName, LISTED_ERRORS);
+        if (top.isEmpty()) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.errors-empty",
+                "<gray>No errors recorded</gray>").render());
+            return;
+        }
+
+        SimpleDateFormat time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        MessageTemplate entryFormat = plugin.getConfigManager().template(player, "plugin-manager.errors-entry",
+            "<red>{exception}</red> x{count} ({rate}/min) [{plugin}] first: {first} last: {last}");
+        MessageTemplate detailFormat = plugin.getConfigManager().template(player, "plugin-manager.errors-detail",
+            "<gray>  {message} at {frame} ({id})</gray>");
+        for (ErrorFingerprint fingerprint : top) {
+            String exception = fingerprint.getException();
+            player.sendMessage(entryFormat.render(
+                "exception", exception.substring(exception.lastIndexOf('.') + 1),
+                "count", String.valueOf(fingerprint.getCount()),
+                "rate", String.valueOf(fingerprint.getRatePerMinute()),
+                "plugin", fingerprint.getPlugin(),
+                "first", time.format(new Date(fingerprint.getFirstSeen())),
+                "last", time.format(new Date(fingerprint.getLastSeen()))));
+            player.sendMessage(detailFormat.render(
+                "message", fingerprint.getMessage(),
+                "frame", fingerprint.getFrames().isEmpty() ? "?" : fingerprint.getFrames().get(0),
+                "id", fingerprint.getId()));
+        }
+    }
+
+    @Override
+    public List<String> tabComplete(Player player, String[] args) {
+        List<String> names = new ArrayList<>();
+        ErrorAggregator aggregator = plugin.getErrorAggregator();
+        if (args.length == 1 && aggregator != null) {
+            for (String name : aggregator.getCountsByPlugin().keySet()) {
+                if (name.toLowerCase(Locale.ROOT).startsWith(args[0].toLowerCase(Locale.ROOT))) names.add(name);
+            }
+        }
+        return names;
+    }
+}
@@ -3,7 +3,6 @@ package de.steyon.devSystem.pluginmanager.commands;
 import de.steyon.devSystem.DevSystem;
 import de.steyon.devSystem.pluginmanager.PluginManagerService;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
@@ -15,12 +14,10 @@ public class InfoCommand implements SubCommand {
 
     private final DevSystem plugin;
     private final PluginManagerService service;
-    private final MiniMessage miniMessage;
     
     public InfoCommand(DevSystem plugin, PluginManagerService service) {
         this.plugin = plugin;
         this.service = service;
-        this.miniMessage = plugin.getMiniMessage();
     }
 
     @Override
@@ -49,11 +46,10 @@ public class InfoCommand implements SubCommand {
     @Override
     public void execute(Player player, String[] args) {
         if (args.length < 1) {
-            String usage = plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-usage.info", "/plugmanager info <plugin>");
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "messages.command.usage", "<prefix><red>Usage: {usage}</red>")
-                    .replace("{usage}", usage)
-            ));
+            Component usage = plugin.getConfigManager().template(player, "plugin-manager.command-usage.info", "/plugmanager info <plugin>").render();
+            player.sendMessage(plugin.getConfigManager().template(player, "messages.command.usage",
+                "<prefix><red>Usage: {usage}</red>")
+                .render("usage", usage));
             return;
         }
         
@@ -61,10 +57,9 @@ public class InfoCommand implements SubCommand {
         Plugin target = service.getPlugin(pluginName);
         
         if (target == null) {
-            player.sendMessage(miniMessage.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-not-found", "<prefix><red>Plugin not found: {plugin}</red>")
-                    .replace("{plugin}", pluginName)
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-found",
+                "<prefix><red>Plugin not found: {plugin}</red>")
+                .render("plugin", pluginName));
             return;
         }
         
@@ -74,7 +69,7 @@ public class InfoCommand implements SubCommand {
     @Override
     public List<String> tabComplete(Player player, String[] args) {
         if (args.length == 1) {
-            return service.getPlugins().stream()
+            return service.getPluginIndex().complete(args[0]).stream()
                 .map(Plugin::getName)
                 .collect(Collectors.toList());
         }
@@ -1,25 +1,27 @@
 package de.steyon.devSystem.pluginmanager.commands;
 
 import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
+import de.steyon.devSystem.pluginmanager.ListenerIndex;
 import de.steyon.devSystem.pluginmanager.PluginManagerService;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import de.steyon.devSystem.pluginmanager.PluginManagerSettings;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class ListenersCommand implements SubCommand {
 
     private final DevSystem plugin;
     private final PluginManagerService service;
-    private final MiniMessage mm;
 
     public ListenersCommand(DevSystem plugin, PluginManagerService service) {
         this.plugin = plugin;
         this.service = service;
-        this.mm = plugin.getMiniMessage();
     }
 
     @Override
@@ -43,41 +45,81 @@ public class ListenersCommand implements SubCommand {
     @Override
     public void execute(Player player, String[] args) {
         if (args.length < 1) {
-            String usage = plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-usage.listeners", "/plugmanager listeners <plugin>");
-            player.sendMessage(mm.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "messages.command.usage", "<prefix><red>Usage: {usage}</red>")
-                    .replace("{usage}", usage)
-            ));
+            Component usage = plugin.getConfigManager().template(player, "plugin-manager.command-usage.listeners", "/plugmanager listeners <plugin>").render();
+            player.sendMessage(plugin.getConfigManager().template(player, "messages.command.usage",
+                "<prefix><red>Usage: {usage}</red>")
+                .render("usage", usage));
             return;
         }
         String name = args[0];
         Plugin target = service.getPlugin(name);
+        if (target == null && name.equalsIgnoreCase("hot")) {
+            sendHotEvents(player);
+            return;
+        }
         if (target == null) {
-            player.sendMessage(mm.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-not-found", "<prefix><red>Plugin not found: {plugin}</red>")
-                    .replace("{plugin}", name)
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-found",
+                "<prefix><red>Plugin not found: {plugin}</red>")
+                .render("plugin", name));
+            return;
+        }
+
+        List<String> hotEvents = plugin.getConfigManager().get(PluginManagerSettings.HOT_EVENTS);
+        Component separator = plugin.getConfigManager().template(player, "plugin-manager.list-separator", ", ").render();
+        MessageTemplate handlerFormat = plugin.getConfigManager().template(player, "plugin-manager.listeners-handler",
+            "{listener}@{priority}{flags}");
+        Component ignoreCancelled = plugin.getConfigManager().template(player, "plugin-manager.listeners-ignore-cancelled",
+            " (ignoreCancelled)").render();
+
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.listeners-header",
+            "<aqua><bold>Listeners</bold></aqua> <gray>for</gray> <green>{plugin}</green>")
+            .render("plugin", target.getName()));
+
+        Map<String, List<ListenerIndex.ListenerInfo>> byEvent = service.getListenerIndex().getListenersByEvent(target);
+        if (byEvent.isEmpty()) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.listeners-list",
+                "<white>{list}</white>")
+                .render("list", "None"));
             return;
         }
-        List<String> listeners = service.getListenerClassNames(target);
-        String list = listeners.isEmpty() ? "None" : String.join(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.list-separator", ", "),
-            listeners
-        );
-        player.sendMessage(mm.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.listeners-header", "<aqua><bold>Listeners</bold></aqua> <gray>for</gray> <green>{plugin}</green>")
-                .replace("{plugin}", target.getName())
-        ));
-        player.sendMessage(mm.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.listeners-list", "<white>{list}</white>")
-                .replace("{list}", list)
-        ));
+
+        for (Map.Entry<String, List<ListenerIndex.ListenerInfo>> entry : byEvent.entrySet()) {
+            List<Component> handlers = new ArrayList<>();
+            for (ListenerIndex.ListenerInfo info : entry.getValue()) {
+                handlers.add(handlerFormat.render("listener", info.listenerClass(), "priority", info.priority().name(),
+                    "flags", info.ignoreCancelled() ? ignoreCancelled : Component.empty()));
+            }
+            boolean hot = hotEvents.stream().anyMatch(entry.getKey()::equalsIgnoreCase);
+            player.sendMessage(plugin.getConfigManager().template(hot ? "plugin-manager.listeners-event-hot" : "plugin-manager.listeners-event",
+                "<aqua>{event}</aqua> <gray>({count})</gray>: {handlers}")
+                .render("event", entry.getKey(), "count", String.valueOf(handlers.size()), "handlers", MessageTemplate.join(separator, handlers)));
+        }
+    }
+
+    private void sendHotEvents(Player player) {
+        Component separator = plugin.getConfigManager().template(player, "plugin-manager.list-separator", ", ").render();
+        MessageTemplate entryFormat = plugin.getConfigManager().template(player, "plugin-manager.listeners-hot-entry", "{plugin} x{count}");
+        MessageTemplate eventFormat = plugin.getConfigManager().template(player, "plugin-manager.listeners-hot-event",
+            "<gold>{event}</gold>: {plugins}");
+
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.listeners-hot-header",
+            "<gold><bold>Hot Events</bold></gold>").render());
+        for (String event : plugin.getConfigManager().get(PluginManagerSettings.HOT_EVENTS)) {
+            List<Component> entries = new ArrayList<>();
+            service.getListenerIndex().countByPlugin(event).entrySet().stream()
+                .sorted(Map.Entry.<Plugin, Integer>comparingByValue().reversed())
+                .forEach(entry -> entries.add(entryFormat.render("plugin", entry.getKey().getName(), "count", String.valueOf(entry.getValue()))));
+            player.sendMessage(eventFormat.render("event", event,
+                "plugins", entries.isEmpty() ? Component.text("None") : MessageTemplate.join(separator, entries)));
+        }
     }
 
     @Override
     public List<String> tabComplete(Player player, String[] args) {
         if (args.length == 1) {
-            return service.getPlugins().stream().map(Plugin::getName).collect(Collectors.toList());
+            List<String> names = service.getPluginIndex().complete(args[0]).stream().map(Plugin::getName).collect(Collectors.toList());
+            names.add("hot");
+            return names;
         }
         return new ArrayList<>();
     }
@@ -1,8 +1,11 @@
 package de.steyon.devSystem.pluginmanager.commands;
 
 import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
+import de.steyon.devSystem.pluginmanager.JarInfoCache;
 import de.steyon.devSystem.pluginmanager.PluginManagerService;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import de.steyon.devSystem.pluginmanager.PluginManagerSettings;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 
 import java.io.File;
@@ -17,23 +20,15 @@ import java.util.Map;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.jar.JarFile;
-import java.util.jar.JarEntry;
-
-import org.bukkit.plugin.Plugin;
-import org.bukkit.plugin.PluginDescriptionFile;
 
 public class LoadCommand implements SubCommand {
 
     private final DevSystem plugin;
     private final PluginManagerService service;
-    private final MiniMessage mm;
 
     public LoadCommand(DevSystem plugin, PluginManagerService service) {
         this.plugin = plugin;
         this.service = service;
-        this.mm = plugin.getMiniMessage();
     }
 
     @Override
@@ -59,17 +54,16 @@ public class LoadCommand implements SubCommand {
     @Override
     public void execute(Player player, String[] args) {
         if (args.length < 1) {
-            player.sendMessage(mm.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-usage.load", "<dark_gray>» <gray>/plugmanager load <blue><path-or-url> [sources...]")
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.command-usage.load",
+                "<dark_gray>» <gray>/plugmanager load <blue><path-or-url> [sources...]").render());
             return;
         }
 
         String source = args[0];
         try {
-            boolean allowUrl = plugin.getConfigManager().getValue("config.yml", "plugin-manager.settings.load-allow-url", true);
-            boolean allowLocal = plugin.getConfigManager().getValue("config.yml", "plugin-manager.settings.load-allow-local", true);
-            boolean blockMissingDeps = plugin.getConfigManager().getValue("config.yml", "plugin-manager.settings.load-block-missing-deps", true);
+            boolean allowUrl = plugin.getConfigManager().get(PluginManagerSettings.LOAD_ALLOW_URL);
+            boolean allowLocal = plugin.getConfigManager().get(PluginManagerSettings.LOAD_ALLOW_LOCAL);
+            boolean blockMissingDeps = plugin.getConfigManager().get(PluginManagerSettings.LOAD_BLOCK_MISSING_DEPS);
 
             File pluginsDir = plugin.getDataFolder().getParentFile();
             if (pluginsDir == null) pluginsDir = new File("plugins");
@@ -77,9 +71,8 @@ public class LoadCommand implements SubCommand {
             File jar;
             if (isUrl(source)) {
                 if (!allowUrl) {
-                    player.sendMessage(mm.deserialize(
-                        plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-url-not-allowed", "<prefix><red>URL loading is disabled in settings</red>")
-                    ));
+                    player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.load-url-not-allowed",
+                        "<prefix><red>URL loading is disabled in settings</red>").render());
                     return;
                 }
                 String name = "downloaded-" + System.currentTimeMillis() + ".jar";
@@ -87,9 +80,8 @@ public class LoadCommand implements SubCommand {
                 downloadToFile(source, jar.toPath());
             } else {
                 if (!allowLocal) {
-                    player.sendMessage(mm.deserialize(
-                        plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-local-not-allowed", "<prefix><red>Local file loading is disabled in settings</red>")
-                    ));
+                    player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.load-local-not-allowed",
+                        "<prefix><red>Local file loading is disabled in settings</red>").render());
                     return;
                 }
                 File candidate = new File(source);
@@ -100,10 +92,9 @@ public class LoadCommand implements SubCommand {
             }
 
             if (jar == null || !jar.exists()) {
-                player.sendMessage(mm.deserialize(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-not-found", "<prefix><red>Plugin not found</red><dark_gray>: {plugin}")
-                        .replace("{plugin}", source)
-                ));
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-found",
+                    "<prefix><red>Plugin not found</red><dark_gray>: {plugin}")
+                    .render("plugin", source));
                 return;
             }
 
@@ -143,11 +134,10 @@ public class LoadCommand implements SubCommand {
             if (blockMissingDeps) {
                 List<String> missing = getMissingDependenciesConsideringCandidates(jar, candidateByName);
                 if (!missing.isEmpty()) {
-                    String sep = plugin.getConfigManager().getValue("config.yml", "plugin-manager.list-separator", ", ");
-                    player.sendMessage(mm.deserialize(
-                        plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-missing-deps", "<prefix><red>Missing required dependencies</red><dark_gray>: </dark_gray><aqua>{deps}</aqua>")
-                            .replace("{deps}", missing.stream().collect(Collectors.joining(sep)))
-                    ));
+                    Component sep = plugin.getConfigManager().template(player, "plugin-manager.list-separator", ", ").render();
+                    player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.load-missing-deps",
+                        "<prefix><red>Missing required dependencies</red><dark_gray>: </dark_gray><aqua>{deps}</aqua>")
+                        .render("deps", MessageTemplate.join(sep, missing)));
                     return;
                 }
             }
@@ -160,16 +150,14 @@ public class LoadCommand implements SubCommand {
 
             var loaded = hasPlugin(mainName != null ? mainName : "") ? null : service.loadPluginFromJar(jar, player);
             if (loaded != null) {
-                player.sendMessage(mm.deserialize(
-                    plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-enabled", "<prefix><white>Plugin <green>{plugin}</green> has been enabled!</white>")
-                        .replace("{plugin}", loaded.getName())
-                ));
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-enabled",
+                    "<prefix><white>Plugin <green>{plugin}</green> has been enabled!</white>")
+                    .render("plugin", loaded.getName()));
             }
         } catch (Exception ex) {
-            player.sendMessage(mm.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.load-exception", "<prefix><red>Exception while loading plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
-                    .replace("{plugin}", source)
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.load-exception",
+                "<prefix><red>Exception while loading plugin</red><dark_gray>: </dark_gray><aqua>{plugin}</aqua>")
+                .render("plugin", source));
         }
     }
 
@@ -200,23 +188,12 @@ public class LoadCommand implements SubCommand {
     }
 
     private boolean hasPlugin(String name) {
-        for (Plugin p : plugin.getServer().getPluginManager().getPlugins()) {
-            if (p.getName().equalsIgnoreCase(name)) return true;
-        }
-        return false;
+        return service.getPluginIndex().contains(name);
     }
 
     private String safeGetPluginName(File jar) {
-        try (JarFile jf = new JarFile(jar)) {
-            JarEntry entry = jf.getJarEntry("plugin.yml");
-            if (entry == null) return null;
-            try (InputStream is = jf.getInputStream(entry)) {
-                PluginDescriptionFile desc = new PluginDescriptionFile(is);
-                return desc.getName();
-            }
-        } catch (Exception e) {
-            return null;
-        }
+        JarInfoCache.JarInfo info = service.getJarInfoCache().get(jar);
+        return info != null ? info.name() : null;
     }
 
     private File ensureInPluginsDir(File f, File pluginsDir) {
@@ -257,17 +234,8 @@ public class LoadCommand implements SubCommand {
     }
 
     private List<String> getDependsList(File jar) {
-        try (JarFile jf = new JarFile(jar)) {
-            JarEntry entry = jf.getJarEntry("plugin.yml");
-            if (entry == null) return List.of();
-            try (InputStream is = jf.getInputStream(entry)) {
-                PluginDescriptionFile desc = new PluginDescriptionFile(is);
-                List<String> d = desc.getDepend();
-                return d != null ? d : List.of();
-            }
-        } catch (Exception e) {
-            return List.of();
-        }
+        JarInfoCache.JarInfo info = service.getJarInfoCache().get(jar);
+        return info != null ? info.depend() : List.of();
     }
 
     private List<String> getMissingDependenciesConsideringCandidates(File jar, Map<String, File> candidates) {
@@ -0,0 +1,269 @@
+package de.steyon.devSystem.pluginmanager.commands;
+
+import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
+import de.steyon.devSystem.pluginmanager.PluginManagerService;
+import de.steyon.devSystem.pluginmanager.PluginManagerSettings;
+import de.steyon.devSystem.profiler.CpuProfile;
+import de.steyon.devSystem.profiler.CpuSampler;
+import de.steyon.devSystem.profiler.ListenerProfiler;
+import de.steyon.devSystem.profiler.ProfileGUI;
+import de.steyon.devSystem.profiler.ProfileResult;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class ProfileCommand implements SubCommand {
+
+    private static final int CHAT_ENTRIES = 10;
+
+    private final DevSystem plugin;
+    private final PluginManagerService service;
+    private final ProfileGUI gui;
+    private volatile UUID cpuStarter;
+
+    public ProfileCommand(DevSystem plugin, PluginManagerService service) {
+        this.plugin = plugin;
+        this.service = service;
+        this.gui = new ProfileGUI(plugin);
+    }
+
+    @Override
+    public String getName() { return "profile"; }
+
+    @Override
+    public String getDescription() {
+        return plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-help.profile", "Profiles listener execution times and server thread CPU usage");
+    }
+
+    @Override
+    public String getPermission() { return "devsystem.pluginmanager.profile"; }
+
+    @Override
+    public List<String> getAliases() {
+        List<String> a = new ArrayList<>();
+        a.add("prof");
+        return a;
+    }
+
+    @Override
+    public void execute(Player player, String[] args) {
+        String action = args.length > 0 ? args[0].toLowerCase(Locale.ROOT) : "";
+        switch (action) {
+            case "listeners" -> startListeners(player, args);
+            case "cpu" -> cpu(player, args);
+            case "stop" -> {
+                if (plugin.getListenerProfiler().stop() == null) {
+                    player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-not-running",
+                        "<prefix><red>No profile is running</red>").render());
+                }
+            }
+            case "results" -> {
+                ProfileResult result = lastResult(player);
+                if (result != null) sendResults(player, result);
+            }
+            case "gui" -> {
+                ProfileResult result = lastResult(player);
+                if (result != null) gui.open(player, result, ProfileResult.Sort.TOTAL);
+            }
+            default -> sendUsage(player);
+        }
+    }
+
+    private void startListeners(Player player, String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            sendUsage(player);
+            return;
+        }
+
+        List<Plugin> targets;
+        if (args.length == 3) {
+            Plugin target = service.getPlugin(args[1]);
+            if (target == null) {
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-found",
+                    "<prefix><red>Plugin not found: {plugin}</red>")
+                    .render("plugin", args[1]));
+                return;
+            }
+            targets = List.of(target);
+        } else {
+            targets = service.getPlugins();
+        }
+
+        int seconds;
+        try {
+            seconds = Integer.parseInt(args[args.length - 1]);
+        } catch (NumberFormatException e) {
+            seconds = -1;
+        }
+        int maxSeconds = plugin.getConfigManager().get(PluginManagerSettings.PROFILE_MAX_SECONDS);
+        if (seconds < 1 || seconds > maxSeconds) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-invalid-duration",
+                "<prefix><red>Duration must be between 1 and {max} seconds</red>")
+                .render("max", String.valueOf(maxSeconds)));
+            return;
+        }
+
+        ListenerProfiler profiler = plugin.getListenerProfiler();
+        int handlers = profiler.start(targets, seconds,
+            result -> player.getScheduler().run(plugin, task -> sendResults(player, result), null));
+        if (handlers < 0) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-running",
+                "<prefix><red>A profile is already running</red>").render());
+            return;
+        }
+
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-started",
+            "<prefix><green>Profiling {handlers} handlers of {plugins} plugin(s) for {seconds}s</green>")
+            .render("handlers", String.valueOf(handlers), "plugins", String.valueOf(targets.size()), "seconds", String.valueOf(seconds)));
+    }
+
+    private void cpu(Player player, String[] args) {
+        String action = args.length > 1 ? args[1].toLowerCase(Locale.ROOT) : "";
+        CpuSampler sampler = plugin.getCpuSampler();
+        if (action.equals("stop")) {
+            UUID starter = cpuStarter;
+            CpuProfile profile = sampler.stop();
+            if (profile == null) {
+                player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-cpu-not-running",
+                    "<prefix><red>The CPU sampler is not running</red>").render());
+            } else if (!player.getUniqueId().equals(starter)) {
+                // The starter is sent the result by the session itself
+                sendCpuProfile(player, profile);
+            }
+            return;
+        }
+        if (!action.equals("start") || args.length > 3) {
+            sendUsage(player);
+            return;
+        }
+
+        int interval = plugin.getConfigManager().get(PluginManagerSettings.PROFILE_SAMPLE_INTERVAL_MILLIS);
+        if (args.length == 3) {
+            try {
+                interval = Integer.parseInt(args[2]);
+            } catch (NumberFormatException e) {
+                interval = -1;
+            }
+            if (interval < 1) {
+                sendUsage(player);
+                return;
+            }
+        }
+
+        boolean started = sampler.start(interval, plugin.getConfigManager().get(PluginManagerSettings.PROFILE_MAX_SECONDS),
+            profile -> player.getScheduler().run(plugin, task -> sendCpuProfile(player, profile), null));
+        if (!started) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-cpu-running",
+                "<prefix><red>The CPU sampler is already running</red>").render());
+            return;
+        }
+        cpuStarter = player.getUniqueId();
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-cpu-started",
+            "<prefix><green>Sampling the server thread every {interval}ms</green>")
+            .render("interval", String.valueOf(interval)));
+    }
+
+    private void sendCpuProfile(Player player, CpuProfile profile) {
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-cpu-header",
+            "<aqua><bold>CPU Profile</bold></aqua> <gray>({seconds}s, {samples} samples, {idle}% idle)</gray>")
+            .render("seconds", String.valueOf(profile.durationMillis() / 1000), "samples", String.valueOf(profile.samples()),
+                "idle", percent(profile.samples() == 0 ? 0.0 : profile.idleSamples() * 100.0 / profile.samples())));
+
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-cpu-plugins-header", "<gray>Plugins</gray>").render());
+        MessageTemplate pluginFormat = plugin.getConfigManager().template(player, "plugin-manager.profile-cpu-plugin",
+            "<green>{plugin}</green>: {percent}% ({samples})");
+        for (CpuProfile.Share share : profile.plugins()) {
+            player.sendMessage(pluginFormat.render("plugin", share.name(), "percent", percent(profile.percent(share)),
+                "samples", String.valueOf(share.samples())));
+        }
+
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-cpu-methods-header", "<gray>Hot methods</gray>").render());
+        MessageTemplate methodFormat = plugin.getConfigManager().template(player, "plugin-manager.profile-cpu-method",
+            "{method}: {percent}% ({samples})");
+        for (CpuProfile.Share share : profile.hotMethods().subList(0, Math.min(CHAT_ENTRIES, profile.hotMethods().size()))) {
+            player.sendMessage(methodFormat.render("method", share.name(), "percent", percent(profile.percent(share)),
+                "samples", String.valueOf(share.samples())));
+        }
+
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-cpu-saved",
+            "<gray>Collapsed stacks saved to {file}</gray>")
+            .render("file", plugin.getDataFolder().toPath().relativize(profile.collapsedFile().toPath()).toString()));
+    }
+
+    private static String percent(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    private ProfileResult lastResult(Player player) {
+        ProfileResult result = plugin.getListenerProfiler().getLastResult();
+        if (result == null) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-no-results",
+                "<prefix><red>No profile results yet</red>").render());
+        }
+        return result;
+    }
+
+    private void sendResults(Player player, ProfileResult result) {
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-header",
+            "<aqua><bold>Listener Profile</bold></aqua> <gray>({seconds}s, {handlers} handlers)</gray>")
+            .render("seconds", String.valueOf(result.durationMillis() / 1000), "handlers", String.valueOf(result.handlers())));
+
+        List<ProfileResult.Entry> entries = result.sorted(ProfileResult.Sort.TOTAL);
+        if (entries.isEmpty()) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-empty",
+                "<gray>No handler was called</gray>").render());
+        }
+
+        MessageTemplate entryFormat = plugin.getConfigManager().template(player, "plugin-manager.profile-entry",
+            "<green>{plugin}</green> {listener} <aqua>{event}</aqua>@{priority} calls: {count} total: {total} mean: {mean} p99: {p99} max: {max}");
+        for (ProfileResult.Entry entry : entries.subList(0, Math.min(CHAT_ENTRIES, entries.size()))) {
+            player.sendMessage(entryFormat.render(
+                "plugin", entry.plugin(),
+                "listener", entry.listener(),
+                "event", entry.event(),
+                "priority", entry.priority().name(),
+                "count", String.valueOf(entry.count()),
+                "total", ProfileResult.formatNanos(entry.totalNanos()),
+                "mean", ProfileResult.formatNanos(entry.meanNanos()),
+                "p99", ProfileResult.formatNanos(entry.p99Nanos()),
+                "max", ProfileResult.formatNanos(entry.maxNanos())));
+        }
+
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.profile-saved",
+            "<gray>Saved to {file}, open with /plugmanager profile gui</gray>")
+            .render("file", plugin.getDataFolder().toPath().relativize(result.csvFile().toPath()).toString()));
+    }
+
+    private void sendUsage(Player player) {
+        Component usage = plugin.getConfigManager().template(player, "plugin-manager.command-usage.profile",
+            "/plugmanager profile <listeners [plugin] <seconds>|cpu start [interval-ms]|cpu stop|stop|results|gui>").render();
+        player.sendMessage(plugin.getConfigManager().template(player, "messages.command.usage",
+            "<prefix><red>Usage: {usage}</red>")
+            .render("usage", usage));
+    }
+
+    @Override
+    public List<String> tabComplete(Player player, String[] args) {
+        if (args.length == 1) {
+            return List.of("listeners", "cpu", "stop", "results", "gui").stream()
+                .filter(option -> option.startsWith(args[0].toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toList());
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("cpu")) {
+            return List.of("start", "stop").stream()
+                .filter(option -> option.startsWith(args[1].toLowerCase(Locale.ROOT)))
+                .collect(Collectors.toList());
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("listeners")) {
+            return service.getPluginIndex().complete(args[1]).stream().map(Plugin::getName).collect(Collectors.toList());
+        }
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,124 @@
+package de.steyon.devSystem.pluginmanager.commands;
+
+import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
+import de.steyon.devSystem.stacktrace.SpikeRecord;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+public class SpikesCommand implements SubCommand {
+
+    private static final int LISTED_SPIKES = 10;
+    private static final int SHOWN_FRAMES = 8;
+
+    private final DevSystem plugin;
+
+    public SpikesCommand(DevSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() { return "spikes"; }
+
+    @Override
+    public String getDescription() {
+        return plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-help.spikes", "Shows recent lag spikes and their stacks");
+    }
+
+    @Override
+    public String getPermission() { return "devsystem.pluginmanager.spikes"; }
+
+    @Override
+    public List<String> getAliases() {
+        List<String> a = new ArrayList<>();
+        a.add("lag");
+        return a;
+    }
+
+    @Override
+    public void execute(Player player, String[] args) {
+        if (args.length > 0) {
+            showSpike(player, args[0]);
+            return;
+        }
+
+        List<SpikeRecord> records = plugin.getSpikeStore().getRecords();
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.spikes-header",
+            "<aqua><bold>Lag Spikes</bold></aqua> <gray>({count})</gray>")
+            .render("count", String.valueOf(records.size())));
+        if (records.isEmpty()) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.spikes-empty",
+                "<gray>No spikes recorded</gray>").render());
+            return;
+        }
+
+        MessageTemplate entryFormat = plugin.getConfigManager().template(player, "plugin-manager.spikes-entry",
+            "<gray>#{id}</gray> {time} <red>{duration}ms</red> {blamed} ({samples} samples)");
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        for (SpikeRecord record : records.subList(0, Math.min(LISTED_SPIKES, records.size()))) {
+            player.sendMessage(entryFormat.render(
+                "id", String.valueOf(record.id()),
+                "time", format.format(new Date(record.timestamp())),
+                "duration", String.valueOf(record.durationMillis()),
+                "blamed", record.blamed(),
+                "samples", String.valueOf(record.samples())));
+        }
+    }
+
+    private void showSpike(Player player, String idArg) {
+        SpikeRecord record = null;
+        try {
+            record = plugin.getSpikeStore().get(Long.parseLong(idArg.startsWith("#") ? idArg.substring(1) : idArg));
+        } catch (NumberFormatException ignored) {
+        }
+        if (record == null) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.spikes-not-found",
+                "<prefix><red>Spike not found: {id}</red>")
+                .render("id", idArg));
+            return;
+        }
+
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.spikes-detail-header",
+            "<aqua><bold>Spike #{id}</bold></aqua> {time} <red>{duration}ms</red> blamed: {blamed} ({samples} samples)")
+            .render("id", String.valueOf(record.id()),
+                "time", new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date(record.timestamp())),
+                "duration", String.valueOf(record.durationMillis()),
+                "blamed", record.blamed(),
+                "samples", String.valueOf(record.samples())));
+
+        MessageTemplate stackFormat = plugin.getConfigManager().template(player, "plugin-manager.spikes-stack",
+            "<gold>{count}x</gold> <gray>({percent}%)</gray>");
+        MessageTemplate frameFormat = plugin.getConfigManager().template(player, "plugin-manager.spikes-frame", "<gray>  at {frame}</gray>");
+        for (SpikeRecord.Stack stack : record.stacks()) {
+            player.sendMessage(stackFormat.render("count", String.valueOf(stack.count()),
+                "percent", String.valueOf(stack.count() * 100 / Math.max(1, record.samples()))));
+            List<String> frames = stack.frames();
+            boolean elided = frames.size() > SHOWN_FRAMES + 1;
+            for (String frame : frames.subList(0, elided ? SHOWN_FRAMES : frames.size())) {
+                player.sendMessage(frameFormat.render("frame", frame));
+            }
+            if (elided) {
+                // Stacks are kept down to their plugin frame, which is then the last one
+                player.sendMessage(frameFormat.render("frame", Component.text("...")));
+                player.sendMessage(frameFormat.render("frame", frames.get(frames.size() - 1)));
+            }
+        }
+    }
+
+    @Override
+    public List<String> tabComplete(Player player, String[] args) {
+        List<String> ids = new ArrayList<>();
+        if (args.length == 1) {
+            for (SpikeRecord record : plugin.getSpikeStore().getRecords()) {
+                String id = String.valueOf(record.id());
+                if (id.startsWith(args[0])) ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
@@ -1,8 +1,10 @@
 package de.steyon.devSystem.pluginmanager.commands;
 
 import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
 import de.steyon.devSystem.pluginmanager.PluginManagerService;
-import net.kyori.adventure.text.minimessage.MiniMessage;
+import de.steyon.devSystem.pluginmanager.TaskIndex;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
@@ -14,12 +16,10 @@ public class TasksCommand implements SubCommand {
 
     private final DevSystem plugin;
     private final PluginManagerService service;
-    private final MiniMessage mm;
 
     public TasksCommand(DevSystem plugin, PluginManagerService service) {
         this.plugin = plugin;
         this.service = service;
-        this.mm = plugin.getMiniMessage();
     }
 
     @Override
@@ -43,45 +43,55 @@ public class TasksCommand implements SubCommand {
     @Override
     public void execute(Player player, String[] args) {
         if (args.length < 1) {
-            String usage = plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-usage.tasks", "/plugmanager tasks <plugin>");
-            player.sendMessage(mm.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "messages.command.usage", "<prefix><red>Usage: {usage}</red>")
-                    .replace("{usage}", usage)
-            ));
+            Component usage = plugin.getConfigManager().template(player, "plugin-manager.command-usage.tasks", "/plugmanager tasks <plugin>").render();
+            player.sendMessage(plugin.getConfigManager().template(player, "messages.command.usage",
+                "<prefix><red>Usage: {usage}</red>")
+                .render("usage", usage));
             return;
         }
         String name = args[0];
         Plugin target = service.getPlugin(name);
         if (target == null) {
-            player.sendMessage(mm.deserialize(
-                plugin.getConfigManager().getValue("config.yml", "plugin-manager.plugin-not-found", "<prefix><red>Plugin not found: {plugin}</red>")
-                    .replace("{plugin}", name)
-            ));
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.plugin-not-found",
+                "<prefix><red>Plugin not found: {plugin}</red>")
+                .render("plugin", name));
+            return;
+        }
+        if (!service.getTaskIndex().isAvailable()) {
+            player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.tasks-unavailable",
+                "<prefix><yellow>Pending tasks cannot be listed on Folia, its schedulers have no API for it</yellow>").render());
             return;
         }
         int count = service.getTaskCount(target);
         List<Integer> ids = service.getTaskIds(target);
-        String idsStr = ids.stream().map(String::valueOf).collect(Collectors.joining(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.list-separator", ", ")
-        ));
-        player.sendMessage(mm.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.tasks-header", "<aqua><bold>Tasks</bold></aqua> <gray>for</gray> <green>{plugin}</green>")
-                .replace("{plugin}", target.getName())
-        ));
-        player.sendMessage(mm.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.tasks-count", "<white>Total: <green>{count}</green></white>")
-                .replace("{count}", String.valueOf(count))
-        ));
-        player.sendMessage(mm.deserialize(
-            plugin.getConfigManager().getValue("config.yml", "plugin-manager.tasks-ids", "<white>IDs: <green>{ids}</green></white>")
-                .replace("{ids}", idsStr.isEmpty() ? "None" : idsStr)
-        ));
+        Component idsStr = ids.isEmpty() ? Component.text("None") : MessageTemplate.join(
+            plugin.getConfigManager().template(player, "plugin-manager.list-separator", ", ").render(), ids);
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.tasks-header",
+            "<aqua><bold>Tasks</bold></aqua> <gray>for</gray> <green>{plugin}</green>")
+            .render("plugin", target.getName()));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.tasks-count",
+            "<white>Total: <green>{count}</green></white>")
+            .render("count", String.valueOf(count)));
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.tasks-ids",
+            "<white>IDs: <green>{ids}</green></white>")
+            .render("ids", idsStr));
+
+        MessageTemplate entryFormat = plugin.getConfigManager().template(player, "plugin-manager.tasks-entry",
+            "<gray>  {id} {scheduler} {mode} period: {period} next: {next}</gray>");
+        for (TaskIndex.TaskInfo task : service.getTaskIndex().getTasks(target)) {
+            player.sendMessage(entryFormat.render(
+                "id", task.id() >= 0 ? "#" + task.id() : "-",
+                "scheduler", task.scheduler(),
+                "mode", task.sync() ? "sync" : "async",
+                "period", task.period() > 0 ? task.period() + "t" : task.period() == -1 ? "once" : "?",
+                "next", task.nextRun() >= 0 ? task.nextRun() + "t" : "?"));
+        }
     }
 
     @Override
     public List<String> tabComplete(Player player, String[] args) {
         if (args.length == 1) {
-            return service.getPlugins().stream().map(Plugin::getName).collect(Collectors.toList());
+            return service.getPluginIndex().complete(args[0]).stream().map(Plugin::getName).collect(Collectors.toList());
         }
         return new ArrayList<>();
     }
@@ -0,0 +1,69 @@
+package de.steyon.devSystem.pluginmanager.commands;
+
+import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.MessageTemplate;
+import de.steyon.devSystem.profiler.TickMonitor;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class TpsCommand implements SubCommand {
+
+    private final DevSystem plugin;
+
+    public TpsCommand(DevSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String getName() { return "tps"; }
+
+    @Override
+    public String getDescription() {
+        return plugin.getConfigManager().getValue("config.yml", "plugin-manager.command-help.tps", "Shows tick rate and tick duration percentiles");
+    }
+
+    @Override
+    public String getPermission() { return "devsystem.pluginmanager.tps"; }
+
+    @Override
+    public List<String> getAliases() {
+        List<String> a = new ArrayList<>();
+        a.add("mspt");
+        return a;
+    }
+
+    @Override
+    public void execute(Player player, String[] args) {
+        TickMonitor monitor = plugin.getTickMonitor();
+        player.sendMessage(plugin.getConfigManager().template(player, "plugin-manager.tps-header",
+            "<aqua><bold>Server Load</bold></aqua> <gray>(last tick {last}ms)</gray>")
+            .render("last", format(monitor.getLastMspt())));
+
+        MessageTemplate entryFormat = plugin.getConfigManager().template(player, "plugin-manager.tps-entry",
+            "<gray>{window}</gray> {tps} TPS mean: {mean} p50: {p50} p95: {p95} p99: {p99} max: {max}");
+        for (TickMonitor.Window window : TickMonitor.Window.values()) {
+            TickMonitor.Stats stats = monitor.getStats(window);
+            player.sendMessage(entryFormat.render(
+                "window", window.label(),
+                "tps", format(stats.tps()),
+                "ticks", String.valueOf(stats.ticks()),
+                "mean", format(stats.mean()),
+                "p50", format(stats.p50()),
+                "p95", format(stats.p95()),
+                "p99", format(stats.p99()),
+                "max", format(stats.max())));
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    @Override
+    public List<String> tabComplete(Player player, String[] args) {
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,39 @@
+package de.steyon.devSystem.profiler;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * The outcome of one sampling session of the server thread.
+ *
+ * @param startedAt when sampling started, in epoch millis
+ * @param durationMillis how long the sampler ran
+ * @param intervalMillis the time between two samples
+ * @param samples the number of captured stacks
+ * @param idleSamples samples taken while the server thread waited for the next tick
+ * @param plugins busy samples per owner, most first; code outside any plugin counts as {@value PluginFrames#SERVER}
+ * @param hotMethods busy samples per top frame, most first
+ * @param collapsedFile the collapsed stacks for flame graph tools, written asynchronously after the session ended
+ */
+public record CpuProfile(long startedAt, long durationMillis, long intervalMillis, long samples, long idleSamples,
+                         List<Share> plugins, List<Share> hotMethods, File collapsedFile) {
+
+    /**
+     * @param name the plugin name or method
+     * @param samples the samples attributed to it
+     */
+    public record Share(String name, long samples) {
+    }
+
+    public long busySamples() {
+        return samples - idleSamples;
+    }
+
+    /**
+     * @return the share of busy samples in percent
+     */
+    public double percent(Share share) {
+        long busy = busySamples();
+        return busy == 0 ? 0.0 : share.samples() * 100.0 / busy;
+    }
+}
@@ -0,0 +1,214 @@
+package de.steyon.devSystem.profiler;
+
+import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.pluginmanager.PluginManagerService;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * Samples the stack of the server thread from a daemon thread.
+ * <p>
+ * Each busy sample is attributed through {@link PluginFrames} to the plugin owning the topmost
+ * plugin frame, or to {@value PluginFrames#SERVER} if no such frame exists. Samples taken while
+ * the thread waits without any plugin frame on the stack count as idle time between ticks. On
+ * Folia the global region thread is sampled.
+ */
+public class CpuSampler {
+
+    private static final int MAX_DEPTH = 256;
+
+    private final DevSystem plugin;
+    private Session session;
+
+    public CpuSampler(DevSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    public synchronized boolean isRunning() {
+        return session != null;
+    }
+
+    /**
+     * Starts sampling on the next tick of the global region.
+     *
+     * @param intervalMillis the time between two samples
+     * @param maxSeconds the session ends by itself after this many seconds
+     * @param onFinish receives the result when the session ends
+     * @return false if a session is already running
+     */
+    public synchronized boolean start(int intervalMillis, int maxSeconds, Consumer<CpuProfile> onFinish) {
+        if (session != null) return false;
+
+        Session started = new Session(Math.max(1, intervalMillis), onFinish);
+        session = started;
+
+        plugin.getServer().getGlobalRegionScheduler().execute(plugin, () -> {
+            synchronized (this) {
+                if (session != started) return;
+                started.begin(Thread.currentThread());
+            }
+        });
+        started.stopTask = plugin.getServer().getGlobalRegionScheduler().runDelayed(plugin, task -> stop(), Math.max(1, maxSeconds) * 20L);
+        return true;
+    }
+
+    /**
+     * Stops sampling and publishes the result.
+     *
+     * @return the result, or null if no session was running
+     */
+    public CpuProfile stop() {
+        Session stopped;
+        synchronized (this) {
+            stopped = session;
+            session = null;
+        }
+        if (stopped == null) return null;
+
+        CpuProfile profile = stopped.finish();
+        writeCollapsed(stopped.collapsed, profile.collapsedFile());
+        if (stopped.onFinish != null) stopped.onFinish.accept(profile);
+        return profile;
+    }
+
+    /**
+     * Ends a running session without notifying its starter, used when DevSystem is disabled.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (session != null) session.onFinish = null;
+        }
+        stop();
+    }
+
+    private void writeCollapsed(Map<String, Long> collapsed, File file) {
+        Runnable write = () -> {
+            try {
+                Files.createDirectories(file.getParentFile().toPath());
+                try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                    for (Map.Entry<String, Long> entry : collapsed.entrySet()) {
+                        writer.write(entry.getKey());
+                        writer.write(' ');
+                        writer.write(Long.toString(entry.getValue()));
+                        writer.write('\n');
+                    }
+                }
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not write CPU profile " + file.getName(), e);
+            }
+        };
+        if (plugin.isEnabled()) {
+            plugin.getServer().getAsyncScheduler().runNow(plugin, task -> write.run());
+        } else {
+            write.run();
+        }
+    }
+
+    private static List<CpuProfile.Share> sorted(Map<String, Long> counts) {
+        List<CpuProfile.Share> shares = new ArrayList<>(counts.size());
+        counts.forEach((name, samples) -> shares.add(new CpuProfile.Share(name, samples)));
+        shares.sort((a, b) -> Long.compare(b.samples(), a.samples()));
+        return List.copyOf(shares);
+    }
+
+    /**
+     * State of one session. Samples are only written by the sampler thread and read after it ended.
+     */
+    private final class Session {
+
+        private final int intervalMillis;
+        private final Map<String, Long> byPlugin = new HashMap<>();
+        private final Map<String, Long> hotMethods = new HashMap<>();
+        private final Map<String, Long> collapsed = new HashMap<>();
+        private final long startedAt = System.currentTimeMillis();
+        private Consumer<CpuProfile> onFinish;
+        private ScheduledTask stopTask;
+        private Thread sampler;
+        private PluginFrames frames;
+        private long samples;
+        private long idleSamples;
+
+        private Session(int intervalMillis, Consumer<CpuProfile> onFinish) {
+            this.intervalMillis = intervalMillis;
+            this.onFinish = onFinish;
+        }
+
+        private void begin(Thread target) {
+            sampler = new Thread(() -> run(target), "DevSystem-Sampler");
+            sampler.setDaemon(true);
+            sampler.start();
+        }
+
+        private void run(Thread target) {
+            PluginManagerService service = plugin.getPluginManagerService();
+            frames = new PluginFrames(service.getPlugins(), service::getPackages);
+            while (!Thread.currentThread().isInterrupted() && target.isAlive()) {
+                sample(target);
+                try {
+                    Thread.sleep(intervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private void sample(Thread target) {
+            Thread.State state = target.getState();
+            StackTraceElement[] stack = target.getStackTrace();
+            if (stack.length == 0) return;
+            samples++;
+
+            Plugin owner = frames.owner(stack);
+            if (owner == null && (state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING)) {
+                idleSamples++;
+                return;
+            }
+
+            byPlugin.merge(owner != null ? owner.getName() : PluginFrames.SERVER, 1L, Long::sum);
+            hotMethods.merge(PluginFrames.name(stack[0]), 1L, Long::sum);
+
+            StringBuilder folded = new StringBuilder();
+            for (int i = Math.min(stack.length, MAX_DEPTH) - 1; i >= 0; i--) {
+                if (folded.length() > 0) folded.append(';');
+                folded.append(PluginFrames.name(stack[i]));
+            }
+            collapsed.merge(folded.toString(), 1L, Long::sum);
+        }
+
+        private CpuProfile finish() {
+            if (stopTask != null) stopTask.cancel();
+            if (sampler != null) {
+                // The counts are plain maps, so they are only read once the sampler has exited;
+                // it does so right after the interrupt, at the latest after its current sample
+                sampler.interrupt();
+                boolean interrupted = false;
+                while (sampler.isAlive()) {
+                    try {
+                        sampler.join();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) Thread.currentThread().interrupt();
+            }
+
+            File file = new File(plugin.getDataFolder(), "profiles/cpu-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(startedAt)) + ".collapsed");
+            return new CpuProfile(startedAt, System.currentTimeMillis() - startedAt, intervalMillis, samples, idleSamples,
+                sorted(byPlugin), sorted(hotMethods), file);
+        }
+    }
+}
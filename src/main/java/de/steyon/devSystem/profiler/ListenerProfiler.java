@@ -0,0 +1,229 @@
+package de.steyon.devSystem.profiler;
+
+import de.steyon.devSystem.DevSystem;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import lombok.Getter;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+
+/**
+ * Times the event handlers of selected plugins for a limited period.
+ * <p>
+ * While a session runs, each {@link RegisteredListener} of the target plugins is replaced in its
+ * {@link HandlerList} by a wrapper that measures the original with {@link System#nanoTime()}. When
+ * the session ends the originals are registered again, so no wrapper is left behind and handlers
+ * run untouched while no session is active. A handler list only appends to a priority slot, so
+ * every swap re-registers the whole list in its current order and handlers of the same priority
+ * keep their order.
+ */
+public class ListenerProfiler {
+
+    private static final EventExecutor NO_OP = (listener, event) -> {
+    };
+
+    private final DevSystem plugin;
+    private final List<Swap> swaps = new ArrayList<>();
+    private final Set<HandlerList> swappedLists = Collections.newSetFromMap(new IdentityHashMap<>());
+    private ScheduledTask stopTask;
+    private Consumer<ProfileResult> onFinish;
+    private long startedAt;
+    @Getter
+    private volatile ProfileResult lastResult;
+
+    public ListenerProfiler(DevSystem plugin) {
+        this.plugin = plugin;
+    }
+
+    private record Swap(RegisteredListener original, TimedListener timed) {
+    }
+
+    public synchronized boolean isRunning() {
+        return stopTask != null;
+    }
+
+    /**
+     * Wraps the handlers of the target plugins and ends the session after {@code seconds}.
+     *
+     * @param targets the plugins to profile
+     * @param onFinish receives the result when the session ends, on the global region thread
+     * @return the number of wrapped handlers, or -1 if a session is already running
+     */
+    public synchronized int start(Collection<Plugin> targets, int seconds, Consumer<ProfileResult> onFinish) {
+        if (stopTask != null) return -1;
+
+        Set<Plugin> plugins = Set.copyOf(targets);
+        for (HandlerList list : HandlerList.getHandlerLists()) {
+            int before = swaps.size();
+            replace(list, listener -> {
+                if (listener instanceof TimedListener || !plugins.contains(listener.getPlugin())) return listener;
+                TimedListener timed = new TimedListener(listener);
+                swaps.add(new Swap(listener, timed));
+                return timed;
+            });
+            if (swaps.size() > before) swappedLists.add(list);
+        }
+        plugin.getPluginManagerService().getListenerIndex().invalidate();
+
+        this.onFinish = onFinish;
+        this.startedAt = System.currentTimeMillis();
+        this.stopTask = plugin.getServer().getGlobalRegionScheduler().runDelayed(plugin, task -> stop(), Math.max(1, seconds) * 20L);
+        return swaps.size();
+    }
+
+    /**
+     * Restores the original handlers and publishes the result.
+     *
+     * @return the result, or null if no session was running
+     */
+    public synchronized ProfileResult stop() {
+        if (stopTask == null) return null;
+        stopTask.cancel();
+        stopTask = null;
+
+        long duration = System.currentTimeMillis() - startedAt;
+        Map<String, Merged> merged = new LinkedHashMap<>();
+        // Disabling a plugin unregisters its wrappers, so only what is still registered is swapped back
+        for (HandlerList list : swappedLists) {
+            replace(list, listener -> listener instanceof TimedListener timed ? timed.original : listener);
+        }
+        swappedLists.clear();
+        plugin.getPluginManagerService().getListenerIndex().invalidate();
+        for (Swap swap : swaps) {
+            swap.timed().histograms.forEach((event, histogram) -> {
+                RegisteredListener original = swap.original();
+                String listener = original.getListener().getClass().getSimpleName();
+                String key = original.getPlugin().getName() + '\0' + listener + '\0' + event.getName() + '\0' + original.getPriority();
+                merged.computeIfAbsent(key, ignored -> new Merged(original.getPlugin().getName(), listener,
+                    event.getSimpleName(), original.getPriority(), new LogHistogram())).histogram().add(histogram);
+            });
+        }
+        int handlers = swaps.size();
+        swaps.clear();
+
+        List<ProfileResult.Entry> entries = new ArrayList<>(merged.size());
+        for (Merged entry : merged.values()) {
+            LogHistogram histogram = entry.histogram();
+            entries.add(new ProfileResult.Entry(entry.plugin(), entry.listener(), entry.event(), entry.priority(),
+                histogram.getCount(), histogram.getTotal(), histogram.getMean(), histogram.getPercentile(99.0), histogram.getMax()));
+        }
+
+        File csv = new File(plugin.getDataFolder(), "profiles/listeners-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date(startedAt)) + ".csv");
+        ProfileResult result = new ProfileResult(startedAt, duration, handlers, List.copyOf(entries), csv);
+        lastResult = result;
+        writeCsv(result);
+
+        Consumer<ProfileResult> callback = onFinish;
+        onFinish = null;
+        if (callback != null) callback.accept(result);
+        return result;
+    }
+
+    /**
+     * Ends a running session without notifying its starter, used when DevSystem is disabled.
+     */
+    public synchronized void shutdown() {
+        onFinish = null;
+        stop();
+    }
+
+    /**
+     * Re-registers every handler of the list in its current order, mapped through {@code mapping}.
+     * The list is left untouched if the mapping keeps every handler.
+     */
+    private static void replace(HandlerList list, UnaryOperator<RegisteredListener> mapping) {
+        RegisteredListener[] current = list.getRegisteredListeners();
+        List<RegisteredListener> replaced = new ArrayList<>(current.length);
+        boolean changed = false;
+        for (RegisteredListener listener : current) {
+            RegisteredListener mapped = mapping.apply(listener);
+            changed |= mapped != listener;
+            replaced.add(mapped);
+        }
+        if (!changed) return;
+
+        for (RegisteredListener listener : current) {
+            list.unregister(listener);
+        }
+        list.registerAll(replaced);
+    }
+
+    private void writeCsv(ProfileResult result) {
+        StringBuilder csv = new StringBuilder("plugin,listener,event,priority,count,total_ns,mean_ns,p99_ns,max_ns\n");
+        for (ProfileResult.Entry entry : result.sorted(ProfileResult.Sort.TOTAL)) {
+            csv.append(entry.plugin()).append(',').append(entry.listener()).append(',').append(entry.event()).append(',')
+                .append(entry.priority()).append(',').append(entry.count()).append(',').append(entry.totalNanos()).append(',')
+                .append(entry.meanNanos()).append(',').append(entry.p99Nanos()).append(',').append(entry.maxNanos()).append('\n');
+        }
+
+        File file = result.csvFile();
+        Runnable write = () -> {
+            try {
+                Files.createDirectories(file.getParentFile().toPath());
+                Files.writeString(file.toPath(), csv, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                plugin.getLogger().log(Level.WARNING, "Could not write listener profile " + file.getName(), e);
+            }
+        };
+        if (plugin.isEnabled()) {
+            plugin.getServer().getAsyncScheduler().runNow(plugin, task -> write.run());
+        } else {
+            write.run();
+        }
+    }
+
+    private record Merged(String plugin, String listener, String event, EventPriority priority, LogHistogram histogram) {
+    }
+
+    /**
+     * Stands in for a registered handler and records how long the original takes per event class.
+     */
+    private static final class TimedListener extends RegisteredListener {
+
+        private final RegisteredListener original;
+        private final Map<Class<? extends Event>, LogHistogram> histograms = new ConcurrentHashMap<>();
+
+        private TimedListener(RegisteredListener original) {
+            super(original.getListener(), NO_OP, original.getPriority(), original.getPlugin(), original.isIgnoringCancelled());
+            this.original = original;
+        }
+
+        @Override
+        public void callEvent(Event event) throws EventException {
+            if (event instanceof Cancellable cancellable && cancellable.isCancelled() && isIgnoringCancelled()) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                original.callEvent(event);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                histograms.computeIfAbsent(event.getClass(), ignored -> new LogHistogram()).record(elapsed);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package de.steyon.devSystem.profiler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values in logarithmic buckets.
+ * <p>
+ * Every power of two is split into {@value #SUB_BUCKETS} linear sub-buckets, so percentiles are
+ * accurate to about 12.5% over the whole {@code long} range with a fixed 512 counters. Recording
+ * is safe from any thread.
+ */
+public final class LogHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        buckets.incrementAndGet(index(value));
+        count.increment();
+        total.add(value);
+        if (value > max.get()) max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Adds all values recorded by {@code other} to this histogram.
+     */
+    public void add(LogHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long bucket = other.buckets.get(i);
+            if (bucket != 0) buckets.addAndGet(i, bucket);
+        }
+        count.add(other.getCount());
+        total.add(other.getTotal());
+        max.accumulateAndGet(other.getMax(), Math::max);
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) buckets.set(i, 0L);
+        count.reset();
+        total.reset();
+        max.set(0L);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public long getMean() {
+        long n = getCount();
+        return n == 0 ? 0L : getTotal() / n;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, capped at the maximum, or 0 if empty
+     */
+    public long getPercentile(double percentile) {
+        long[] snapshot = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            n += snapshot[i];
+        }
+        if (n == 0) return 0L;
+
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) return Math.min(upperBound(i), getMax());
+        }
+        return getMax();
+    }
+
+    static int index(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,88 @@
+package de.steyon.devSystem.profiler;
+
+import org.bukkit.plugin.Plugin;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Attributes stack frames to the plugins whose jars contain their classes.
+ * <p>
+ * The index maps each package to the plugin whose jar holds classes in it and is built once at
+ * construction from the jar entries, so no class is loaded through another plugin's class loader.
+ * A package found in several jars, like an unrelocated shaded library, has no single owner and its
+ * frames are skipped, leaving the attribution to the calling frames. Classes of the JDK, the server
+ * and its libraries are skipped by package. Building reads the jars the first time, so instances
+ * should be created off the main thread; once built they are immutable and safe to share.
+ */
+public final class PluginFrames {
+
+    public static final String SERVER = "server";
+
+    private static final String[] SERVER_PACKAGES = {
+        "java.", "javax.", "jdk.", "sun.", "com.sun.", "net.minecraft.", "com.mojang.",
+        "org.bukkit.", "io.papermc.", "ca.spottedleaf.", "it.unimi.dsi.", "io.netty."
+    };
+
+    private final Map<String, Plugin> owners = new HashMap<>();
+
+    /**
+     * @param packages lists the packages in a plugin's jar, e.g. {@code PluginManagerService::getPackages}
+     */
+    public PluginFrames(Collection<Plugin> plugins, Function<Plugin, Set<String>> packages) {
+        Set<String> shared = new HashSet<>();
+        for (Plugin plugin : plugins) {
+            for (String name : packages.apply(plugin)) {
+                Plugin previous = owners.putIfAbsent(name, plugin);
+                if (previous != null && previous != plugin) shared.add(name);
+            }
+        }
+        owners.keySet().removeAll(shared);
+    }
+
+    /**
+     * @return the plugin owning the topmost frame that belongs to a plugin, or null if none does
+     */
+    public Plugin owner(StackTraceElement[] stack) {
+        int index = indexOf(stack);
+        return index >= 0 ? owner(stack[index].getClassName()) : null;
+    }
+
+    /**
+     * @return the index of the topmost frame that belongs to a plugin, or -1 if none does
+     */
+    public int indexOf(StackTraceElement[] stack) {
+        for (int i = 0; i < stack.length; i++) {
+            if (owner(stack[i].getClassName()) != null) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the plugin whose jar holds the class's package, or null for server and library classes
+     * and for packages found in several jars
+     */
+    public Plugin owner(String className) {
+        int dot = className.lastIndexOf('.');
+        if (dot <= 0 || isServerClass(className)) return null;
+        return owners.get(className.substring(0, dot));
+    }
+
+    /**
+     * @return the frame as {@code class.method}
+     */
+    public static String name(StackTraceElement frame) {
+        return frame.getClassName() + '.' + frame.getMethodName();
+    }
+
+    private static boolean isServerClass(String className) {
+        for (String prefix : SERVER_PACKAGES) {
+            if (className.startsWith(prefix)) return true;
+        }
+        return false;
+    }
+}
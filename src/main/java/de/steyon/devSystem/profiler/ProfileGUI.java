@@ -0,0 +1,120 @@
+package de.steyon.devSystem.profiler;
+
+import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.api.inv.GuiTemplate;
+import de.steyon.devSystem.api.inv.SteyOnInv;
+import de.steyon.devSystem.api.inv.controller.PageHandler;
+import de.steyon.devSystem.api.inv.item.ActiveItem;
+import de.steyon.devSystem.api.item.ItemBuilder;
+import de.steyon.devSystem.config.MessageTemplate;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lists the entries of a listener profile, slowest first, with a button that cycles the sort order.
+ */
+public class ProfileGUI {
+
+    private static final int ITEMS_PER_PAGE = 28;
+
+    private final DevSystem plugin;
+    private volatile GuiTemplate template;
+
+    public ProfileGUI(DevSystem plugin) {
+        this.plugin = plugin;
+        plugin.getConfigManager().addReloadListener(() -> template = null);
+    }
+
+    public void open(Player player, ProfileResult result, ProfileResult.Sort sort) {
+        GuiTemplate compiled = template;
+        if (compiled == null) {
+            compiled = compileTemplate();
+            template = compiled;
+        }
+
+        SteyOnInv gui = compiled.create(plugin, template(player, "plugin-manager.profile-gui-title",
+            "<gradient:green:blue>Listener Profile</gradient> <dark_gray>({sort})</dark_gray>")
+            .render("sort", sort.name().toLowerCase(Locale.ROOT)), player);
+
+        List<ProfileResult.Entry> entries = result.sorted(sort);
+        PageHandler pageHandler = new PageHandler(gui, ITEMS_PER_PAGE, entries.size(), index -> createEntryItem(player, entries.get(index)), 'P');
+
+        ActiveItem previous = new ActiveItem(new ItemBuilder(Material.ARROW).deferred()
+            .name(template(player, "plugin-manager.prev-page", "<blue>Previous Page</blue>").render())
+            .clearAllAttributes().build()).click(e -> {
+            e.setCancelled(true);
+            if (pageHandler.hasPreviousPage()) pageHandler.previousPage();
+        });
+        ActiveItem next = new ActiveItem(new ItemBuilder(Material.ARROW).deferred()
+            .name(template(player, "plugin-manager.next-page", "<blue>Next Page</blue>").render())
+            .clearAllAttributes().build()).click(e -> {
+            e.setCancelled(true);
+            if (pageHandler.hasNextPage()) pageHandler.nextPage();
+        });
+        ActiveItem sortButton = new ActiveItem(new ItemBuilder(Material.HOPPER).deferred()
+            .name(template(player, "plugin-manager.profile-gui-sort", "<yellow>Sort: {sort}</yellow>").render("sort", sort.name().toLowerCase(Locale.ROOT)))
+            .lore(template(player, "plugin-manager.profile-gui-sort-lore", "<dark_gray>» <gray>Click to sort by {next}")
+                .render("next", sort.next().name().toLowerCase(Locale.ROOT)))
+            .clearAllAttributes().build()).click(e -> {
+            e.setCancelled(true);
+            open(player, result, sort.next());
+        });
+
+        Map<Character, ActiveItem> items = new HashMap<>();
+        items.put('S', sortButton);
+        if (entries.size() > ITEMS_PER_PAGE) {
+            items.put('<', previous);
+            items.put('>', next);
+        }
+        gui.setUnActiveItems(items);
+        gui.open(player);
+    }
+
+    private GuiTemplate compileTemplate() {
+        String[] pattern = {
+            "XXXXXXXXX",
+            "XPPPPPPPX",
+            "XPPPPPPPX",
+            "XPPPPPPPX",
+            "XPPPPPPPX",
+            "XXX<S>XXX",
+        };
+
+        ActiveItem border = new ActiveItem(new ItemBuilder(Material.GRAY_STAINED_GLASS_PANE).deferred()
+            .name(Component.empty())
+            .clearAllAttributes()
+            .build()).click(e -> e.setCancelled(true));
+
+        Map<Character, ActiveItem> items = new HashMap<>();
+        items.put('X', border);
+        items.put('<', border);
+        items.put('>', border);
+        return GuiTemplate.compile(pattern, items);
+    }
+
+    private ActiveItem createEntryItem(Player player, ProfileResult.Entry entry) {
+        ItemBuilder builder = new ItemBuilder(Material.CLOCK).deferred()
+            .name(template(player, "plugin-manager.profile-gui-entry", "<green>{plugin}</green> <dark_gray>»</dark_gray> <aqua>{listener}</aqua>")
+                .render("plugin", entry.plugin(), "listener", entry.listener()))
+            .lore(
+                template(player, "plugin-manager.profile-gui-event", "<gray>Event: <green>{event}</green> <dark_gray>@</dark_gray> <gray>{priority}</gray>")
+                    .render("event", entry.event(), "priority", entry.priority().name()),
+                template(player, "plugin-manager.profile-gui-calls", "<gray>Calls: <green>{count}</green>").render("count", String.valueOf(entry.count())),
+                template(player, "plugin-manager.profile-gui-total", "<gray>Total: <green>{total}</green>").render("total", ProfileResult.formatNanos(entry.totalNanos())),
+                template(player, "plugin-manager.profile-gui-mean", "<gray>Mean: <green>{mean}</green>").render("mean", ProfileResult.formatNanos(entry.meanNanos())),
+                template(player, "plugin-manager.profile-gui-p99", "<gray>p99: <green>{p99}</green>").render("p99", ProfileResult.formatNanos(entry.p99Nanos())),
+                template(player, "plugin-manager.profile-gui-max", "<gray>Max: <green>{max}</green>").render("max", ProfileResult.formatNanos(entry.maxNanos())))
+            .clearAllAttributes();
+        return new ActiveItem(builder.build()).click(e -> e.setCancelled(true));
+    }
+
+    private MessageTemplate template(Player viewer, String path, String defaultValue) {
+        return plugin.getConfigManager().template(viewer, path, defaultValue);
+    }
+}
@@ -0,0 +1,74 @@
+package de.steyon.devSystem.profiler;
+
+import org.bukkit.event.EventPriority;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The outcome of one listener profiling session.
+ *
+ * @param startedAt when profiling started, in epoch millis
+ * @param durationMillis how long the listeners were wrapped
+ * @param handlers the number of wrapped handlers
+ * @param entries one entry per plugin, listener class, event and priority
+ * @param csvFile the CSV export, written asynchronously after the session ended
+ */
+public record ProfileResult(long startedAt, long durationMillis, int handlers, List<Entry> entries, File csvFile) {
+
+    /**
+     * @param plugin the plugin name
+     * @param listener the simple name of the listener class
+     * @param event the simple name of the event class
+     * @param priority the handler priority
+     * @param count how often the handler ran
+     * @param totalNanos the summed execution time
+     * @param meanNanos the mean execution time
+     * @param p99Nanos the 99th percentile of the execution time
+     * @param maxNanos the slowest execution
+     */
+    public record Entry(String plugin, String listener, String event, EventPriority priority,
+                        long count, long totalNanos, long meanNanos, long p99Nanos, long maxNanos) {
+    }
+
+    /**
+     * Orders of the result entries, slowest first.
+     */
+    public enum Sort {
+        TOTAL(Comparator.comparingLong(Entry::totalNanos)),
+        MEAN(Comparator.comparingLong(Entry::meanNanos)),
+        P99(Comparator.comparingLong(Entry::p99Nanos)),
+        MAX(Comparator.comparingLong(Entry::maxNanos)),
+        CALLS(Comparator.comparingLong(Entry::count));
+
+        private final Comparator<Entry> comparator;
+
+        Sort(Comparator<Entry> comparator) {
+            this.comparator = comparator.reversed();
+        }
+
+        public Sort next() {
+            Sort[] values = values();
+            return values[(ordinal() + 1) % values.length];
+        }
+    }
+
+    public List<Entry> sorted(Sort sort) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(sort.comparator);
+        return sorted;
+    }
+
+    /**
+     * Formats a duration in nanoseconds with a unit that keeps three significant digits readable.
+     */
+    public static String formatNanos(long nanos) {
+        if (nanos < 1_000L) return nanos + "ns";
+        if (nanos < 1_000_000L) return String.format(Locale.ROOT, "%.1fµs", nanos / 1_000.0);
+        if (nanos < 1_000_000_000L) return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,208 @@
+package de.steyon.devSystem.profiler;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.destroystokyo.paper.event.server.ServerTickStartEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the duration of every server tick and keeps rolling MSPT statistics.
+ * <p>
+ * Durations and end times go into preallocated primitive ring buffers. Every {@link Window} owns a
+ * log-bucketed histogram that gains each new tick and drops the ticks that left the window, so
+ * recording a tick allocates nothing and costs a few array writes. Other plugins can obtain the
+ * monitor from the {@link org.bukkit.plugin.ServicesManager}. The tick events are not fired on
+ * Folia, where the monitor stays empty.
+ */
+public class TickMonitor implements Listener {
+
+    // 15 minutes at twice the normal tick rate, so catch-up ticks after a lag spike still fit
+    private static final int CAPACITY = 15 * 60 * 20 * 2;
+    private static final Window[] WINDOWS = Window.values();
+    private static final int RECENT_TICKS = 20;
+
+    private final long[] durations = new long[CAPACITY];
+    private final long[] endTimes = new long[CAPACITY];
+    private final long[][] buckets = new long[WINDOWS.length][LogHistogram.BUCKETS];
+    private final long[] counts = new long[WINDOWS.length];
+    private final long[] totals = new long[WINDOWS.length];
+    private final int[] tails = new int[WINDOWS.length];
+    private int head;
+    private long recorded;
+    private long firstTickAt;
+    private long tickStart;
+    private volatile long runningTickStart;
+    private volatile Thread tickThread;
+
+    /**
+     * The rolling windows statistics are kept for.
+     */
+    public enum Window {
+        SECOND("1s", 1),
+        MINUTE("1m", 60),
+        FIVE_MINUTES("5m", 5 * 60),
+        FIFTEEN_MINUTES("15m", 15 * 60);
+
+        private final String label;
+        private final long nanos;
+
+        Window(String label, long seconds) {
+            this.label = label;
+            this.nanos = TimeUnit.SECONDS.toNanos(seconds);
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    /**
+     * @param ticks the number of ticks in the window
+     * @param tps the ticks per second over the window, or over the uptime if it is shorter
+     * @param mean the mean tick duration in milliseconds
+     * @param p50 the median tick duration in milliseconds
+     * @param p95 the 95th percentile in milliseconds
+     * @param p99 the 99th percentile in milliseconds
+     * @param max the longest tick in milliseconds
+     */
+    public record Stats(long ticks, double tps, double mean, double p50, double p95, double p99, double max) {
+
+        static final Stats EMPTY = new Stats(0L, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0);
+    }
+
+    // LOWEST runs first, so the start is taken before other plugins' tick start work
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onTickStart(ServerTickStartEvent event) {
+        if (tickThread == null) tickThread = Thread.currentThread();
+        tickStart = System.nanoTime();
+        runningTickStart = tickStart;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(ServerTickEndEvent event) {
+        if (tickStart == 0L) return;
+        long now = System.nanoTime();
+        record(now - tickStart, now);
+        runningTickStart = 0L;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which the running tick started, or 0 between ticks
+     */
+    public long getRunningTickStart() {
+        return runningTickStart;
+    }
+
+    /**
+     * @return the thread the ticks run on, or null before the first tick
+     */
+    public Thread getTickThread() {
+        return tickThread;
+    }
+
+    /**
+     * @param start the {@link System#nanoTime()} at which the tick started, see {@link #getRunningTickStart()}
+     * @return the recorded duration of that tick in nanoseconds, or -1 if it is still running or
+     * no longer among the last ticks
+     */
+    public synchronized long getTickDuration(long start) {
+        // Each slot's start is its end minus its duration, so the start needs no buffer of its own
+        for (int i = 1; i <= Math.min(recorded, RECENT_TICKS); i++) {
+            int slot = (head - i + CAPACITY) % CAPACITY;
+            if (endTimes[slot] - durations[slot] == start) return durations[slot];
+        }
+        return -1L;
+    }
+
+    private synchronized void record(long duration, long now) {
+        if (recorded == 0) firstTickAt = now;
+
+        // A full ring overwrites its oldest tick, which must leave every window still holding it
+        if (recorded >= CAPACITY) {
+            for (int window = 0; window < tails.length; window++) {
+                if (tails[window] == head && counts[window] > 0) evict(window);
+            }
+        }
+
+        durations[head] = duration;
+        endTimes[head] = now;
+        head = (head + 1) % CAPACITY;
+        recorded++;
+
+        int bucket = LogHistogram.index(duration);
+        for (int window = 0; window < WINDOWS.length; window++) {
+            buckets[window][bucket]++;
+            counts[window]++;
+            totals[window] += duration;
+            long cutoff = now - WINDOWS[window].nanos;
+            while (counts[window] > 0 && endTimes[tails[window]] <= cutoff) evict(window);
+        }
+    }
+
+    private void evict(int window) {
+        int tail = tails[window];
+        long duration = durations[tail];
+        buckets[window][LogHistogram.index(duration)]--;
+        counts[window]--;
+        totals[window] -= duration;
+        tails[window] = (tail + 1) % CAPACITY;
+    }
+
+    /**
+     * @return the statistics of the window, or all zero if no tick was recorded yet
+     */
+    public synchronized Stats getStats(Window window) {
+        int index = window.ordinal();
+        long count = counts[index];
+        if (count == 0) return Stats.EMPTY;
+
+        long now = System.nanoTime();
+        long span = Math.min(window.nanos, Math.max(1L, now - firstTickAt));
+        double tps = Math.min(20.0, count * (double) TimeUnit.SECONDS.toNanos(1) / span);
+        long max = 0L;
+        for (int i = 0, slot = tails[index]; i < count; i++, slot = (slot + 1) % CAPACITY) {
+            max = Math.max(max, durations[slot]);
+        }
+
+        return new Stats(count, tps, millis(totals[index] / count), millis(percentile(index, 50.0, max)),
+            millis(percentile(index, 95.0, max)), millis(percentile(index, 99.0, max)), millis(max));
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the tick duration percentile of the window in milliseconds
+     */
+    public synchronized double getMspt(Window window, double percentile) {
+        int index = window.ordinal();
+        return counts[index] == 0 ? 0.0 : millis(percentile(index, percentile, Long.MAX_VALUE));
+    }
+
+    public double getTps(Window window) {
+        return getStats(window).tps();
+    }
+
+    /**
+     * @return the duration of the last completed tick in milliseconds
+     */
+    public synchronized double getLastMspt() {
+        return recorded == 0 ? 0.0 : millis(durations[(head - 1 + CAPACITY) % CAPACITY]);
+    }
+
+    private long percentile(int window, double percentile, long max) {
+        long[] histogram = buckets[window];
+        long rank = Math.max(1L, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * counts[window]));
+        long seen = 0;
+        for (int i = 0; i < LogHistogram.BUCKETS; i++) {
+            seen += histogram[i];
+            if (seen >= rank) return Math.min(LogHistogram.upperBound(i), max);
+        }
+        return max;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
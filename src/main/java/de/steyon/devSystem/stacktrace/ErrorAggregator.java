@@ -0,0 +1,355 @@
+package de.steyon.devSystem.stacktrace;
+
+import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.ConfigKey;
+import de.steyon.devSystem.pluginmanager.PluginManagerService;
+import de.steyon.devSystem.profiler.PluginFrames;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Filter;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Counts logged throwables by fingerprint and optionally suppresses repeats.
+ * <p>
+ * The aggregator counts through its own {@link Handler} on the root {@code java.util.logging}
+ * logger, which every plugin logger and the Bukkit server logger forward to, so each record is
+ * counted exactly once. Suppression installs a {@link Filter} on the other root handlers that only
+ * reads the counts; the counting handler is added last, so every filter sees the count before the
+ * record at hand. A record's fingerprint is computed by the first filter or the handler and reused
+ * by the others. A fingerprint is a hash of the exception classes of the cause chain and their
+ * topmost frames, with line numbers and generated class and lambda suffixes removed, so the same
+ * failure matches across reloads. Once a fingerprint was logged {@link #SUPPRESS_AFTER} times further repeats are
+ * dropped and summarized in one line per flush. Aggregates are written to one file per day in the
+ * {@code errors} folder.
+ */
+public final class ErrorAggregator {
+
+    public static final ConfigKey<Boolean> ENABLED = ConfigKey.bool("error-aggregator.enabled", true);
+    public static final ConfigKey<Integer> SUPPRESS_AFTER = ConfigKey.integer("error-aggregator.suppress-after", 0);
+    public static final ConfigKey<Integer> FLUSH_SECONDS = ConfigKey.integer("error-aggregator.flush-seconds", 60);
+    public static final ConfigKey<Integer> MAX_FILES = ConfigKey.integer("error-aggregator.max-files", 7);
+    public static final ConfigKey<Integer> MAX_FINGERPRINTS = ConfigKey.integer("error-aggregator.max-fingerprints", 1000);
+
+    private static final int FINGERPRINT_FRAMES = 10;
+    private static final int CAUSE_DEPTH = 5;
+    private static final int SAMPLE_LINES = 40;
+    private static final int MESSAGE_LENGTH = 200;
+    private static final Pattern GENERATED_CLASS = Pattern.compile("(\\$\\$Lambda).*|(\\$Proxy|GeneratedMethodAccessor|\\$)\\d+");
+    private static final Pattern LAMBDA_METHOD = Pattern.compile("^(lambda\\$.*)\\$\\d+$");
+
+    private final DevSystem plugin;
+    private final File folder;
+    private final Map<String, ErrorFingerprint> fingerprints = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> byPlugin = new ConcurrentHashMap<>();
+    private final Map<Handler, Filter> installed = new IdentityHashMap<>();
+    private final Handler counter = new CountingHandler();
+    // Records in flight between the filters and the counting handler; LogRecord has identity equality
+    private final Map<LogRecord, String> recordFingerprints = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Object framesLock = new Object();
+    private PluginFrames frames;
+    private int framesVersion = -1;
+    private ScheduledTask flushTask;
+    private volatile int suppressAfter;
+    private volatile int maxFingerprints;
+
+    public ErrorAggregator(DevSystem plugin) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "errors");
+    }
+
+    public synchronized void install() {
+        if (flushTask != null) return;
+
+        suppressAfter = plugin.getConfigManager().get(SUPPRESS_AFTER);
+        maxFingerprints = plugin.getConfigManager().get(MAX_FINGERPRINTS);
+        Logger root = Logger.getLogger("");
+        if (suppressAfter > 0) {
+            for (Handler handler : root.getHandlers()) {
+                Filter previous = handler.getFilter();
+                installed.put(handler, previous);
+                handler.setFilter(record -> (previous == null || previous.isLoggable(record)) && isLoggable(record));
+            }
+        }
+        root.addHandler(counter);
+
+        long flushSeconds = Math.max(1, plugin.getConfigManager().get(FLUSH_SECONDS));
+        flushTask = plugin.getServer().getAsyncScheduler().runAtFixedRate(plugin, task -> flush(), flushSeconds, flushSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Restores the previous handler filters and writes the aggregates one last time.
+     */
+    public synchronized void uninstall() {
+        if (flushTask == null) return;
+        flushTask.cancel();
+        flushTask = null;
+
+        Logger.getLogger("").removeHandler(counter);
+        installed.forEach(Handler::setFilter);
+        installed.clear();
+        flush();
+    }
+
+    /**
+     * @return false if the record's fingerprint was already logged {@link #SUPPRESS_AFTER} times
+     */
+    private boolean isLoggable(LogRecord record) {
+        Throwable thrown = record.getThrown();
+        if (thrown == null) return true;
+
+        try {
+            String id = recordFingerprints.get(record);
+            if (id == null) {
+                // Computed outside the map's lock, so threads logging at once do not wait on each other
+                id = fingerprint(causeChain(thrown));
+                recordFingerprints.put(record, id);
+            }
+            ErrorFingerprint fingerprint = fingerprints.get(id);
+            return fingerprint == null || fingerprint.getCount() < suppressAfter;
+        } catch (RuntimeException e) {
+            return true;
+        }
+    }
+
+    private void count(LogRecord record, Throwable thrown) {
+        // The counting handler runs last, so no filter needs the fingerprint after this
+        String id = recordFingerprints.remove(record);
+        if (id == null) id = fingerprint(causeChain(thrown));
+        long now = System.currentTimeMillis();
+
+        ErrorFingerprint fingerprint = fingerprints.get(id);
+        if (fingerprint == null) {
+            if (fingerprints.size() >= maxFingerprints) return;
+            String created = id;
+            fingerprint = fingerprints.computeIfAbsent(id, ignored -> create(created, record, causeChain(thrown), now));
+        }
+
+        long count = fingerprint.record(now);
+        byPlugin.computeIfAbsent(fingerprint.getPlugin(), ignored -> new LongAdder()).increment();
+        if (suppressAfter > 0 && count > suppressAfter) fingerprint.suppress();
+    }
+
+    /**
+     * Counts every record with a throwable once, however many handlers it reaches.
+     */
+    private final class CountingHandler extends Handler {
+
+        @Override
+        public void publish(LogRecord record) {
+            Throwable thrown = record.getThrown();
+            if (thrown == null) return;
+            try {
+                count(record, thrown);
+            } catch (RuntimeException ignored) {
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private ErrorFingerprint create(String id, LogRecord record, List<Throwable> chain, long now) {
+        Throwable top = chain.get(0);
+        Throwable root = chain.get(chain.size() - 1);
+        String message = top.getMessage() != null ? top.getMessage() : "";
+        if (message.length() > MESSAGE_LENGTH) message = message.substring(0, MESSAGE_LENGTH) + "...";
+
+        StringWriter trace = new StringWriter();
+        top.printStackTrace(new PrintWriter(trace));
+        String[] lines = trace.toString().split("\\R");
+        String sample = String.join("\n", Arrays.asList(lines).subList(0, Math.min(SAMPLE_LINES, lines.length)));
+
+        return new ErrorFingerprint(id, owner(record, chain), top.getClass().getName(), message,
+            normalizedFrames(root), sample, now);
+    }
+
+    private static List<Throwable> causeChain(Throwable thrown) {
+        List<Throwable> chain = new ArrayList<>();
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Throwable current = thrown; current != null && chain.size() < CAUSE_DEPTH && seen.add(current); current = current.getCause()) {
+            chain.add(current);
+        }
+        return chain;
+    }
+
+    private static String fingerprint(List<Throwable> chain) {
+        // 64-bit FNV-1a over the normalized chain
+        long hash = 0xcbf29ce484222325L;
+        for (Throwable throwable : chain) {
+            hash = fnv(hash, throwable.getClass().getName());
+            for (String frame : normalizedFrames(throwable)) {
+                hash = fnv(hash, frame);
+            }
+        }
+        return String.format(Locale.ROOT, "%016x", hash);
+    }
+
+    private static long fnv(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= '\n';
+        return hash * 0x100000001b3L;
+    }
+
+    private static List<String> normalizedFrames(Throwable throwable) {
+        StackTraceElement[] stack = throwable.getStackTrace();
+        List<String> frames = new ArrayList<>(Math.min(stack.length, FINGERPRINT_FRAMES));
+        for (int i = 0; i < stack.length && i < FINGERPRINT_FRAMES; i++) {
+            String className = GENERATED_CLASS.matcher(stack[i].getClassName()).replaceAll("$1$2");
+            String method = LAMBDA_METHOD.matcher(stack[i].getMethodName()).replaceAll("$1");
+            frames.add(className + '.' + method);
+        }
+        return frames;
+    }
+
+    /**
+     * @return the plugin owning the deepest cause's topmost plugin frame, the plugin named like the
+     * logger, or {@value PluginFrames#SERVER}
+     */
+    private String owner(LogRecord record, List<Throwable> chain) {
+        Plugin[] plugins = plugin.getServer().getPluginManager().getPlugins();
+        PluginManagerService service = plugin.getPluginManagerService();
+        if (service != null) {
+            PluginFrames current;
+            synchronized (framesLock) {
+                int version = service.getPluginsVersion();
+                if (frames == null || version != framesVersion) {
+                    frames = new PluginFrames(service.getPlugins(), service::getPackages);
+                    framesVersion = version;
+                }
+                current = frames;
+            }
+            for (int i = chain.size() - 1; i >= 0; i--) {
+                Plugin owner = current.owner(chain.get(i).getStackTrace());
+                if (owner != null) return owner.getName();
+            }
+        }
+
+        String logger = record.getLoggerName();
+        if (logger != null) {
+            for (Plugin loaded : plugins) {
+                if (loaded.getName().equalsIgnoreCase(logger)) return loaded.getName();
+            }
+        }
+        return PluginFrames.SERVER;
+    }
+
+    /**
+     * @param pluginName only fingerprints attributed to this plugin, or null for all
+     * @return the fingerprints with the most occurrences first
+     */
+    public List<ErrorFingerprint> getTop(String pluginName, int limit) {
+        return fingerprints.values().stream()
+            .filter(fingerprint -> pluginName == null || fingerprint.getPlugin().equalsIgnoreCase(pluginName))
+            .sorted(Comparator.comparingLong(ErrorFingerprint::getCount).reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    /**
+     * @return the occurrences per plugin, most first
+     */
+    public Map<String, Long> getCountsByPlugin() {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        byPlugin.entrySet().stream()
+            .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+            .forEach(entry -> sorted.put(entry.getKey(), entry.getValue().sum()));
+        return sorted;
+    }
+
+    public int getFingerprintCount() {
+        return fingerprints.size();
+    }
+
+    private synchronized void flush() {
+        for (ErrorFingerprint fingerprint : fingerprints.values()) {
+            long suppressed = fingerprint.drainSuppressed();
+            if (suppressed > 0) {
+                plugin.getLogger().info("Suppressed " + suppressed + " repeats of " + fingerprint.getException()
+                    + " from " + fingerprint.getPlugin() + " (" + fingerprint.getId() + ")");
+            }
+        }
+
+        long startOfDay = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        SimpleDateFormat time = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        YamlConfiguration yaml = new YamlConfiguration();
+        for (ErrorFingerprint fingerprint : getTop(null, Integer.MAX_VALUE)) {
+            if (fingerprint.getLastSeen() < startOfDay) continue;
+
+            String path = fingerprint.getId() + ".";
+            yaml.set(path + "plugin", fingerprint.getPlugin());
+            yaml.set(path + "exception", fingerprint.getException());
+            yaml.set(path + "message", fingerprint.getMessage());
+            yaml.set(path + "count", fingerprint.getCount());
+            yaml.set(path + "rate-per-minute", fingerprint.getRatePerMinute());
+            yaml.set(path + "first-seen", time.format(new Date(fingerprint.getFirstSeen())));
+            yaml.set(path + "last-seen", time.format(new Date(fingerprint.getLastSeen())));
+            yaml.set(path + "frames", fingerprint.getFrames());
+            yaml.set(path + "sample", fingerprint.getSample());
+        }
+        if (yaml.getKeys(false).isEmpty()) return;
+
+        File file = new File(folder, "errors-" + LocalDate.now() + ".yml");
+        try {
+            Files.createDirectories(folder.toPath());
+            Files.writeString(file.toPath(), yaml.saveToString(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            // Logged without the throwable, an I/O problem here must not feed back into the aggregator
+            plugin.getLogger().warning("Could not write " + file.getName() + ": " + e.getMessage());
+            return;
+        }
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() {
+        File[] files = folder.listFiles((dir, name) -> name.startsWith("errors-") && name.toLowerCase(Locale.ROOT).endsWith(".yml"));
+        int maxFiles = Math.max(1, plugin.getConfigManager().get(MAX_FILES));
+        if (files == null || files.length <= maxFiles) return;
+
+        // ISO dates sort chronologically by name
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        for (int i = 0; i < files.length - maxFiles; i++) {
+            if (!files[i].delete()) {
+                plugin.getLogger().log(Level.FINE, "Could not delete " + files[i].getName());
+            }
+        }
+    }
+}
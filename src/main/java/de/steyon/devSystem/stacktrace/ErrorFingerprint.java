@@ -0,0 +1,94 @@
+package de.steyon.devSystem.stacktrace;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Occurrences of one normalized throwable.
+ * <p>
+ * Besides the total count it keeps per-second counts of the last minute in a small ring, so the
+ * current rate is available without storing individual timestamps.
+ */
+public final class ErrorFingerprint {
+
+    private static final int RATE_SECONDS = 60;
+
+    @Getter
+    private final String id;
+    @Getter
+    private final String plugin;
+    @Getter
+    private final String exception;
+    @Getter
+    private final String message;
+    @Getter
+    private final List<String> frames;
+    @Getter
+    private final String sample;
+    @Getter
+    private final long firstSeen;
+    private long lastSeen;
+    private long count;
+    private long suppressed;
+    private final long[] secondCounts = new long[RATE_SECONDS];
+    private final long[] secondStamps = new long[RATE_SECONDS];
+
+    ErrorFingerprint(String id, String plugin, String exception, String message, List<String> frames, String sample, long now) {
+        this.id = id;
+        this.plugin = plugin;
+        this.exception = exception;
+        this.message = message;
+        this.frames = frames;
+        this.sample = sample;
+        this.firstSeen = now;
+    }
+
+    /**
+     * @return the number of occurrences including this one
+     */
+    synchronized long record(long now) {
+        lastSeen = now;
+        long second = now / 1000L;
+        int slot = (int) (second % RATE_SECONDS);
+        if (secondStamps[slot] != second) {
+            secondStamps[slot] = second;
+            secondCounts[slot] = 0L;
+        }
+        secondCounts[slot]++;
+        return ++count;
+    }
+
+    synchronized void suppress() {
+        suppressed++;
+    }
+
+    /**
+     * @return the suppressed repeats since the last call
+     */
+    synchronized long drainSuppressed() {
+        long drained = suppressed;
+        suppressed = 0L;
+        return drained;
+    }
+
+    public synchronized long getLastSeen() {
+        return lastSeen;
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the occurrences within the last minute
+     */
+    public synchronized long getRatePerMinute() {
+        long oldest = System.currentTimeMillis() / 1000L - RATE_SECONDS;
+        long rate = 0L;
+        for (int i = 0; i < RATE_SECONDS; i++) {
+            if (secondStamps[i] > oldest) rate += secondCounts[i];
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,66 @@
+package de.steyon.devSystem.stacktrace;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A tick that took longer than the watchdog threshold.
+ *
+ * @param id the sequence number of the spike
+ * @param timestamp when the spike started, in epoch millis
+ * @param durationMillis how long the tick took
+ * @param samples the number of stacks captured while the tick was running
+ * @param blamed the plugin owning most samples, or {@code server}
+ * @param stacks the most frequent stacks, most frequent first
+ */
+public record SpikeRecord(long id, long timestamp, long durationMillis, int samples, String blamed, List<Stack> stacks) {
+
+    /**
+     * @param count how many samples had this stack
+     * @param frames the innermost frames down to the topmost plugin frame, at least 16, as
+     * {@code class.method}, innermost first
+     */
+    public record Stack(int count, List<String> frames) {
+    }
+
+    String serialize() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("id", id);
+        yaml.set("timestamp", timestamp);
+        yaml.set("duration-millis", durationMillis);
+        yaml.set("samples", samples);
+        yaml.set("blamed", blamed);
+        List<Map<String, Object>> serialized = new ArrayList<>(stacks.size());
+        for (Stack stack : stacks) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("count", stack.count());
+            map.put("frames", stack.frames());
+            serialized.add(map);
+        }
+        yaml.set("stacks", serialized);
+        return yaml.saveToString();
+    }
+
+    /**
+     * @return the record stored in the yaml, or null if it is incomplete
+     */
+    static SpikeRecord deserialize(YamlConfiguration yaml) {
+        if (!yaml.contains("id") || !yaml.contains("timestamp")) return null;
+
+        List<Stack> stacks = new ArrayList<>();
+        for (Map<?, ?> map : yaml.getMapList("stacks")) {
+            List<String> frames = new ArrayList<>();
+            if (map.get("frames") instanceof List<?> list) {
+                for (Object frame : list) frames.add(String.valueOf(frame));
+            }
+            int count = map.get("count") instanceof Number number ? number.intValue() : 0;
+            stacks.add(new Stack(count, List.copyOf(frames)));
+        }
+        return new SpikeRecord(yaml.getLong("id"), yaml.getLong("timestamp"), yaml.getLong("duration-millis"),
+            yaml.getInt("samples"), yaml.getString("blamed", "server"), List.copyOf(stacks));
+    }
+}
@@ -0,0 +1,97 @@
+package de.steyon.devSystem.stacktrace;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * A bounded ring of spike records on disk.
+ * <p>
+ * Record {@code n} is stored in slot {@code n % capacity} of the {@code spikes} folder, so the
+ * folder never holds more than {@code capacity} files and the oldest record is overwritten first.
+ * The records are read once on startup and kept in memory, newest first.
+ */
+public class SpikeStore {
+
+    private final Plugin plugin;
+    private final File folder;
+    private final int capacity;
+    private final List<SpikeRecord> records = new ArrayList<>();
+    private long nextId;
+
+    public SpikeStore(Plugin plugin, int capacity) {
+        this.plugin = plugin;
+        this.folder = new File(plugin.getDataFolder(), "spikes");
+        this.capacity = Math.max(1, capacity);
+        load();
+    }
+
+    private void load() {
+        File[] files = folder.listFiles((dir, name) -> name.startsWith("spike-") && name.endsWith(".yml"));
+        if (files == null) return;
+
+        for (File file : files) {
+            YamlConfiguration yaml = new YamlConfiguration();
+            try {
+                yaml.load(file);
+            } catch (IOException | InvalidConfigurationException e) {
+                continue;
+            }
+            SpikeRecord record = SpikeRecord.deserialize(yaml);
+            if (record != null) records.add(record);
+        }
+        records.sort(Comparator.comparingLong(SpikeRecord::id).reversed());
+        // Slots beyond a lowered capacity are left on disk and dropped from the ring
+        while (records.size() > capacity) records.remove(records.size() - 1);
+        nextId = records.isEmpty() ? 0L : records.get(0).id() + 1;
+    }
+
+    /**
+     * @return the next id, to be used for the record passed to {@link #add(SpikeRecord)}
+     */
+    public synchronized long nextId() {
+        return nextId++;
+    }
+
+    /**
+     * Stores the record in its slot, replacing the oldest record once the ring is full.
+     */
+    public synchronized void add(SpikeRecord record) {
+        records.add(0, record);
+        while (records.size() > capacity) records.remove(records.size() - 1);
+
+        File file = new File(folder, "spike-" + (record.id() % capacity) + ".yml");
+        try {
+            Files.createDirectories(folder.toPath());
+            Files.writeString(file.toPath(), record.serialize(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not write spike record " + file.getName(), e);
+        }
+    }
+
+    /**
+     * @return the stored records, newest first
+     */
+    public synchronized List<SpikeRecord> getRecords() {
+        return List.copyOf(records);
+    }
+
+    /**
+     * @return the record with the id, or null if it is no longer stored
+     */
+    public synchronized SpikeRecord get(long id) {
+        for (SpikeRecord record : records) {
+            if (record.id() == id) return record;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,137 @@
+package de.steyon.devSystem.stacktrace;
+
+import de.steyon.devSystem.DevSystem;
+import de.steyon.devSystem.config.ConfigKey;
+import de.steyon.devSystem.pluginmanager.PluginManagerService;
+import de.steyon.devSystem.profiler.PluginFrames;
+import de.steyon.devSystem.profiler.TickMonitor;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Captures the server thread's stacks while a tick runs longer than a threshold.
+ * <p>
+ * A daemon thread polls the start of the running tick from the {@link TickMonitor}. Once a tick
+ * exceeds {@link #THRESHOLD_MILLIS} it samples the tick thread every
+ * {@link #SAMPLE_INTERVAL_MILLIS} until the tick ends, then stores the spike with its most frequent
+ * stacks and the plugin owning most samples in the {@link SpikeStore}. Nothing is sampled while
+ * ticks stay below the threshold.
+ */
+public final class SpikeWatchdog {
+
+    public static final ConfigKey<Boolean> ENABLED = ConfigKey.bool("spike-watchdog.enabled", true);
+    public static final ConfigKey<Integer> THRESHOLD_MILLIS = ConfigKey.integer("spike-watchdog.threshold-millis", 200);
+    public static final ConfigKey<Integer> SAMPLE_INTERVAL_MILLIS = ConfigKey.integer("spike-watchdog.sample-interval-millis", 10);
+    public static final ConfigKey<Integer> MAX_RECORDS = ConfigKey.integer("spike-watchdog.max-records", 50);
+
+    private static final int STORED_STACKS = 5;
+    private static final int STACK_FRAMES = 16;
+    // A server that hangs for good is the watchdog's job, not ours; stop sampling after a minute
+    private static final long MAX_CAPTURE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final DevSystem plugin;
+    private final TickMonitor monitor;
+    private final SpikeStore store;
+    private Thread thread;
+    // Only used by the watchdog thread
+    private PluginFrames frames;
+    private int framesVersion = -1;
+
+    public SpikeWatchdog(DevSystem plugin, TickMonitor monitor, SpikeStore store) {
+        this.plugin = plugin;
+        this.monitor = monitor;
+        this.store = store;
+    }
+
+    public void start() {
+        if (thread != null) return;
+
+        long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, plugin.getConfigManager().get(THRESHOLD_MILLIS)));
+        int sampleInterval = Math.max(1, plugin.getConfigManager().get(SAMPLE_INTERVAL_MILLIS));
+        thread = new Thread(() -> run(thresholdNanos, sampleInterval), "DevSystem-SpikeWatchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        if (thread == null) return;
+        thread.interrupt();
+        thread = null;
+    }
+
+    private void run(long thresholdNanos, int sampleInterval) {
+        long pollMillis = Math.max(5L, Math.min(50L, TimeUnit.NANOSECONDS.toMillis(thresholdNanos) / 4));
+        long lastSpike = 0L;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long start = monitor.getRunningTickStart();
+                Thread target = monitor.getTickThread();
+                if (start != 0L && start != lastSpike && target != null && System.nanoTime() - start >= thresholdNanos) {
+                    lastSpike = start;
+                    capture(target, start, sampleInterval);
+                }
+                Thread.sleep(pollMillis);
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    private PluginFrames frames() {
+        PluginManagerService service = plugin.getPluginManagerService();
+        int version = service.getPluginsVersion();
+        if (frames == null || version != framesVersion) {
+            frames = new PluginFrames(service.getPlugins(), service::getPackages);
+            framesVersion = version;
+        }
+        return frames;
+    }
+
+    private void capture(Thread target, long start, int sampleInterval) throws InterruptedException {
+        long startedAt = System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        PluginFrames frames = frames();
+        Map<List<String>, Integer> stacks = new HashMap<>();
+        Map<String, Integer> owners = new HashMap<>();
+        int samples = 0;
+
+        while (monitor.getRunningTickStart() == start && System.nanoTime() - start < MAX_CAPTURE_NANOS) {
+            StackTraceElement[] stack = target.getStackTrace();
+            if (stack.length > 0) {
+                samples++;
+                int ownerIndex = frames.indexOf(stack);
+                Plugin owner = ownerIndex >= 0 ? frames.owner(stack[ownerIndex].getClassName()) : null;
+                owners.merge(owner != null ? owner.getName() : PluginFrames.SERVER, 1, Integer::sum);
+
+                // Keep the frames down to the plugin frame, which can lie far below the innermost ones
+                int depth = Math.min(stack.length, Math.max(STACK_FRAMES, ownerIndex + 1));
+                List<String> key = new ArrayList<>(depth);
+                for (int i = 0; i < depth; i++) key.add(PluginFrames.name(stack[i]));
+                stacks.merge(key, 1, Integer::sum);
+            }
+            Thread.sleep(sampleInterval);
+        }
+        if (samples == 0) return;
+
+        // Polling sees the end up to one interval late, the monitor knows when the tick really ended
+        long recorded = monitor.getTickDuration(start);
+        long duration = TimeUnit.NANOSECONDS.toMillis(recorded >= 0 ? recorded : System.nanoTime() - start);
+        String blamed = owners.entrySet().stream()
+            .max(Map.Entry.comparingByValue())
+            .map(Map.Entry::getKey)
+            .orElse(PluginFrames.SERVER);
+        List<SpikeRecord.Stack> top = stacks.entrySet().stream()
+            .sorted(Map.Entry.<List<String>, Integer>comparingByValue().reversed())
+            .limit(STORED_STACKS)
+            .map(entry -> new SpikeRecord.Stack(entry.getValue(), List.copyOf(entry.getKey())))
+            .toList();
+
+        SpikeRecord record = new SpikeRecord(store.nextId(), startedAt, duration, samples, blamed, top);
+        store.add(record);
+        plugin.getLogger().warning("Tick took " + duration + "ms, most samples in " + blamed
+            + " (/plugmanager spikes " + record.id() + ")");
+    }
+}
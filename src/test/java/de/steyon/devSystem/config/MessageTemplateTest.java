@@ -0,0 +1,35 @@
+package de.steyon.devSystem.config;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MessageTemplateTest {
+
+    private static final MiniMessage MINI_MESSAGE = MiniMessage.miniMessage();
+
+    @Test
+    void placeholderInsideGradientIsColoredLikeBefore() {
+        for (String source : new String[] {
+            "<gradient:green:blue>{plugin}</gradient>",
+            "<gradient:green:blue>Plugin: {plugin}</gradient>",
+            "<gradient:green:blue>Plugin Information: {plugin}</gradient>"
+        }) {
+            assertEquals(replaced(source, "plugin", "WorldEdit"),
+                MessageTemplate.compile(MINI_MESSAGE, source).render("plugin", "WorldEdit"));
+        }
+    }
+
+    @Test
+    void placeholderAfterClosedGradientIsRendered() {
+        String source = "<gradient:green:blue>Listener Profile</gradient> <dark_gray>({sort})</dark_gray>";
+        assertEquals(MINI_MESSAGE.serialize(replaced(source, "sort", "total")),
+            MINI_MESSAGE.serialize(MessageTemplate.compile(MINI_MESSAGE, source).render("sort", "total")));
+    }
+
+    private static Component replaced(String source, String key, String value) {
+        return MINI_MESSAGE.deserialize(source.replace("{" + key + "}", value));
+    }
+}